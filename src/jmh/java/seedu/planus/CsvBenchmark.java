@@ -0,0 +1,77 @@
+package seedu.planus;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of reading a timetable file with CsvReader against the Scanner and String.split
+ * path that Storage.loadTimetable used before. Both only tokenize and parse the fields, without building courses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CsvBenchmark {
+    @Param({"100", "1000", "5000", "50000"})
+    private int planSize;
+
+    private Path timetableFile;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticData.silenceLogging();
+        timetableFile = Files.createTempFile("myTimetable", ".csv");
+        Files.writeString(timetableFile, SyntheticData.timetable(planSize).toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(timetableFile);
+    }
+
+    @Benchmark
+    public long csvReader() throws IOException {
+        long checksum = 0;
+        try (CsvReader reader = new CsvReader(new FileReader(timetableFile.toFile()))) {
+            while (reader.readLine()) {
+                checksum += reader.getField(0).length() + reader.getField(1).length() + reader.getIntField(2)
+                        + reader.getIntField(3) + reader.getIntField(4) + reader.getField(5).length();
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long scannerAndSplit() throws IOException {
+        long checksum = 0;
+        Scanner s = new Scanner(new File(timetableFile.toString()));
+        s.useDelimiter(System.lineSeparator());
+        while (s.hasNext()) {
+            String[] words = s.next().split(",");
+            checksum += words[0].length() + words[1].length() + Integer.parseInt(words[2])
+                    + Integer.parseInt(words[3]) + Integer.parseInt(words[4]) + words[5].length();
+        }
+        s.close();
+        return checksum;
+    }
+}
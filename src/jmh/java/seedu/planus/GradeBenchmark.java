@@ -0,0 +1,126 @@
+package seedu.planus;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the LetterGrade lookup table against the string switch and string comparisons it replaced,
+ * both for setting grades (as loading a timetable does) and for summing GPA-counted MCs and grade points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GradeBenchmark {
+    private static final String[] GRADE_TEXTS = {
+        "A+", "A", "A-", "B+", "B", "B-", "C+", "C", "D+", "D", "F", "S", "U", "CS", "CU", "null"
+    };
+
+    private String[] grades;
+    private int[] credits;
+
+    @Setup
+    public void setUp() {
+        // Copies, so that neither path benefits from comparing a string with itself, as with grades read from a file
+        grades = new String[1024];
+        credits = new int[grades.length];
+        for (int i = 0; i < grades.length; i++) {
+            grades[i] = new String(GRADE_TEXTS[i % GRADE_TEXTS.length]);
+            credits[i] = i % 5 + 1;
+        }
+    }
+
+    @Benchmark
+    public void parseWithLookupTable(Blackhole blackhole) {
+        for (String grade : grades) {
+            blackhole.consume(LetterGrade.parse(grade));
+        }
+    }
+
+    @Benchmark
+    public void parseWithStringSwitch(Blackhole blackhole) {
+        for (String grade : grades) {
+            blackhole.consume(legacyNumberGrade(grade));
+        }
+    }
+
+    @Benchmark
+    public long aggregateWithLookupTable() {
+        long halfPoints = 0;
+        int gradedCredits = 0;
+        for (int i = 0; i < grades.length; i++) {
+            LetterGrade grade = LetterGrade.parse(grades[i]);
+            if (grade != null && !grade.isExcludedFromGpa()) {
+                gradedCredits += credits[i];
+                halfPoints += (long) grade.getHalfPoints() * credits[i];
+            }
+        }
+        return halfPoints + gradedCredits;
+    }
+
+    @Benchmark
+    public double aggregateWithStringComparisons() {
+        double gradePoints = 0;
+        int gradedCredits = 0;
+        for (int i = 0; i < grades.length; i++) {
+            String grade = grades[i];
+            double numberGrade = legacyNumberGrade(grade);
+            if (numberGrade == -1) {
+                continue;
+            }
+            if (!grade.equals("S") && !grade.equals("CS") && !grade.equals("U") && !grade.equals("CU")) {
+                gradedCredits += credits[i];
+                gradePoints += numberGrade * credits[i];
+            }
+        }
+        return gradePoints + gradedCredits;
+    }
+
+    /**
+     * The string switch that Grade used before grades were looked up in LetterGrade
+     */
+    private static double legacyNumberGrade(String letterGrade) {
+        switch (letterGrade) {
+        case "A+":
+        case "A":
+            return 5.00;
+        case "A-":
+            return 4.50;
+        case "B+":
+            return 4.00;
+        case "B":
+            return 3.50;
+        case "B-":
+            return 3.00;
+        case "C+":
+            return 2.50;
+        case "C":
+            return 2.00;
+        case "D+":
+            return 1.50;
+        case "D":
+            return 1.00;
+        case "F":
+        case "S":
+        case "U":
+        case "CS":
+        case "CU":
+            return 0.00;
+        default:
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package seedu.planus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what the logging of one "add course" costs the caller, with the FileHandler written to directly,
+ * through AsyncLogHandler, and with INFO turned off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingBenchmark {
+    @Param({"sync", "async", "off"})
+    private String handlerType;
+
+    private Logger logger;
+    private Handler handler;
+    private Path logFile;
+    private Course course;
+
+    @Setup
+    public void setUp() throws Exception {
+        logFile = Files.createTempFile("Logging", ".txt");
+        FileHandler fileHandler = new FileHandler(logFile.toString(), true);
+        fileHandler.setFormatter(new SimpleFormatter());
+        handler = handlerType.equals("async")
+                ? new AsyncLogHandler(fileHandler, AsyncLogHandler.DEFAULT_CAPACITY)
+                : fileHandler;
+
+        logger = Logger.getLogger("loggingBenchmark");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(handlerType.equals("off") ? Level.WARNING : Level.INFO);
+        logger.addHandler(handler);
+        course = new Course("CS1010", "Programming Methodology", 4, 1, 1);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        logger.removeHandler(handler);
+        handler.close();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void logAddCourse() {
+        logger.log(Level.INFO, "Processing command: {0}", "add course CS1010 y/1 t/1");
+        logger.log(Level.INFO, () -> "Adding new row for " + course.getYearAndTerm());
+        logger.log(Level.INFO, "Added new course");
+    }
+}
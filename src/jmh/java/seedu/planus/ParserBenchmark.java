@@ -0,0 +1,114 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks whole commands going through Parser.parseCommand, including their output and persistence,
+ * and the tokenizing and dispatching of a command line on their own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ParserBenchmark {
+    @Param({"100", "1000", "5000"})
+    private int planSize;
+
+    private final CommandRegistry registry = new CommandRegistry()
+            .register("view", (arguments, timetable) -> false)
+            .register("add", "course", (arguments, timetable) -> false)
+            .register("add", "grade", (arguments, timetable) -> false)
+            .setInvalidSubCommandMessage("add", Ui.INVALID_ADD);
+
+    private Timetable timetable;
+    private Path catalogueFile;
+    private PrintStream originalOut;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticData.silenceLogging();
+        Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX);
+        timetable = SyntheticData.timetable(planSize);
+        // Every course of the plan is in the catalogue, so that no command prompts for a course name
+        catalogueFile = Files.createTempFile("CourseList", ".csv");
+        Files.write(catalogueFile, SyntheticData.catalogueLines(planSize));
+        Storage.setCourseCatalog(CourseCatalog.load(catalogueFile));
+        originalOut = System.out;
+        System.setOut(SyntheticData.nullPrintStream());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        Files.deleteIfExists(Paths.get(Storage.getUserTimetableFilePath()));
+        Files.deleteIfExists(catalogueFile);
+        Storage.setCourseCatalog(null);
+        Storage.changeTimetable(0);
+    }
+
+    @Benchmark
+    public boolean help() throws Exception {
+        return Parser.parseCommand("help", timetable);
+    }
+
+    @Benchmark
+    public boolean viewTerm() throws Exception {
+        return Parser.parseCommand("view y/2 t/1", timetable);
+    }
+
+    @Benchmark
+    public boolean check() throws Exception {
+        return Parser.parseCommand("check", timetable);
+    }
+
+    @Benchmark
+    public boolean addGrade() throws Exception {
+        return Parser.parseCommand("add grade SYN1 A", timetable);
+    }
+
+    @Benchmark
+    public boolean moveCourse() throws Exception {
+        Parser.parseCommand("move course SYN1 y/3 t/2", timetable);
+        return Parser.parseCommand("move course SYN1 y/2 t/2", timetable);
+    }
+
+    @Benchmark
+    public String invalidCommand() {
+        try {
+            Parser.parseCommand("jump", timetable);
+            return null;
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public CommandArguments tokenizeAddCourse() {
+        return CommandArguments.parse("add course CS1010 y/1 t/1 m/4");
+    }
+
+    @Benchmark
+    public Command dispatchAddCourse() throws Exception {
+        return registry.find(CommandArguments.parse("add course CS1010 y/1 t/1 m/4"));
+    }
+}
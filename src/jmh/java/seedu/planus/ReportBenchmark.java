@@ -0,0 +1,115 @@
+package seedu.planus;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the grade and plan reports of GradeChecker and PlanGetter, both rendered as strings and
+ * streamed to an output through ReportWriter. Run with "-prof gc" to also measure the allocation per report.
+ * Also benchmarks the what-if GPA scenarios of the ungraded courses, on the common pool and on a single thread,
+ * and finding the grades the ungraded courses need for a target GPA.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ReportBenchmark {
+    @Param({"100", "1000", "5000"})
+    private int planSize;
+
+    private Timetable timetable;
+    private PrintStream out;
+    private List<LetterGrade> whatIfGrades;
+    private ForkJoinPool singleThreadPool;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticData.silenceLogging();
+        timetable = SyntheticData.timetable(planSize);
+        out = SyntheticData.nullPrintStream();
+        whatIfGrades = List.of(LetterGrade.A, LetterGrade.B_PLUS, LetterGrade.B);
+        singleThreadPool = new ForkJoinPool(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        singleThreadPool.shutdown();
+    }
+
+    @Benchmark
+    public String checkGrade() {
+        return GradeChecker.checkGrade(timetable);
+    }
+
+    @Benchmark
+    public String checkGradeOfYear() {
+        return GradeChecker.checkGrade(timetable, 2);
+    }
+
+    @Benchmark
+    public String checkGradeOfTerm() {
+        return GradeChecker.checkGrade(timetable, 2, 1);
+    }
+
+    @Benchmark
+    public String getPlan() {
+        return PlanGetter.getPlan(timetable);
+    }
+
+    @Benchmark
+    public String getPlanOfYear() {
+        return PlanGetter.getPlan(timetable, 2);
+    }
+
+    @Benchmark
+    public String getPlanOfTerm() {
+        return PlanGetter.getPlan(timetable, 2, 1);
+    }
+
+    @Benchmark
+    public void writeGrades() {
+        ReportWriter report = new ReportWriter(out);
+        GradeChecker.writeGrades(report, timetable);
+        report.flush();
+    }
+
+    @Benchmark
+    public void writePlan() {
+        ReportWriter report = new ReportWriter(out);
+        PlanGetter.writePlan(report, timetable);
+        report.flush();
+    }
+
+    @Benchmark
+    public GpaScenarios.Distribution whatIf() {
+        return GpaScenarios.of(timetable).evaluate(whatIfGrades, 0);
+    }
+
+    @Benchmark
+    public GpaScenarios.Distribution whatIfOnSingleThread() {
+        return GpaScenarios.of(timetable).evaluate(whatIfGrades, 0, singleThreadPool,
+                GpaScenarios.MAX_ENUMERATED_SCENARIOS);
+    }
+
+    @Benchmark
+    public LetterGrade[] findMinimumGrades() {
+        return GpaScenarios.of(timetable).findMinimumGrades(400);
+    }
+}
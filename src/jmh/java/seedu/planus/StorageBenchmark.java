@@ -0,0 +1,144 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks loading a user timetable file or its binary snapshot and searching the course catalogue.
+ * parseTimetableFile and readSnapshot load the same plan from the csv file and from its snapshot,
+ * and loadTimetable goes through the snapshot, as it is up to date.
+ * The timetable and the catalogue are set up in separate states, so that each benchmark only runs
+ * for the sizes of the data it uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class StorageBenchmark {
+    /**
+     * Two saved timetables of the same size, the benchmarked one being the current timetable.
+     */
+    @State(Scope.Benchmark)
+    public static class TimetableState {
+        @Param({"100", "1000", "5000"})
+        private int planSize;
+
+        private TimetableSession session;
+
+        @Setup
+        public void setUp() throws Exception {
+            SyntheticData.silenceLogging();
+            Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX);
+            Storage.writeToFile(SyntheticData.timetable(planSize));
+            // A second timetable to switch to and back from, both held by the session after the first switch
+            Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX - 1);
+            Storage.writeToFile(SyntheticData.timetable(planSize));
+            Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX);
+            session = new TimetableSession();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(Paths.get(
+                    Storage.getUserTimetableFilePath(SyntheticData.BENCHMARK_TIMETABLE_INDEX - 1)));
+            Files.deleteIfExists(Paths.get(Storage.getContext().getFolderPath() + "myTimetable"
+                    + (SyntheticData.BENCHMARK_TIMETABLE_INDEX - 1) + TimetableSnapshot.FILE_EXTENSION));
+            Files.deleteIfExists(Paths.get(Storage.getUserTimetableFilePath()));
+            Files.deleteIfExists(Paths.get(Storage.getUserTimetableSnapshotPath()));
+            Storage.changeTimetable(0);
+        }
+    }
+
+    /**
+     * A course catalogue file, also set as the catalogue that courses are searched in.
+     */
+    @State(Scope.Benchmark)
+    public static class CatalogueState {
+        @Param({"1000", "10000", "100000"})
+        private int catalogueSize;
+
+        private Path catalogueFile;
+        private String[] searchedCodes;
+        private int nextSearch;
+
+        @Setup
+        public void setUp() throws Exception {
+            SyntheticData.silenceLogging();
+            catalogueFile = Files.createTempFile("CourseList", ".csv");
+            Files.write(catalogueFile, SyntheticData.catalogueLines(catalogueSize));
+            Storage.setCourseCatalog(CourseCatalog.load(catalogueFile));
+
+            // Spread the searches over the whole catalogue, including the last line
+            searchedCodes = new String[64];
+            for (int i = 0; i < searchedCodes.length; i++) {
+                searchedCodes[i] = SyntheticData.courseCode((int) ((long) (catalogueSize - 1) * i / 63));
+            }
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(catalogueFile);
+            Storage.setCourseCatalog(null);
+        }
+    }
+
+    @Benchmark
+    public Timetable loadTimetable(TimetableState state) {
+        return Storage.loadTimetable(Storage.getUserTimetableFileName());
+    }
+
+    @Benchmark
+    public Timetable parseTimetableFile(TimetableState state) throws IOException {
+        Timetable timetable = new Timetable();
+        Storage.parseTimetable(Files.readAllBytes(Paths.get(Storage.getUserTimetableFilePath())),
+                Storage.getUserTimetableFilePath(), true, timetable);
+        return timetable;
+    }
+
+    @Benchmark
+    public Timetable readSnapshot(TimetableState state) throws IOException {
+        return TimetableSnapshot.read(Paths.get(Storage.getUserTimetableFilePath()),
+                Paths.get(Storage.getUserTimetableSnapshotPath()));
+    }
+
+    @Benchmark
+    public Timetable switchTimetable(TimetableState state) {
+        Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX - 1);
+        state.session.getTimetable();
+        Storage.changeTimetable(SyntheticData.BENCHMARK_TIMETABLE_INDEX);
+        return state.session.getTimetable();
+    }
+
+    @Benchmark
+    public String searchCourse(CatalogueState state) {
+        state.nextSearch = (state.nextSearch + 1) % state.searchedCodes.length;
+        return Storage.searchCourse(state.searchedCodes[state.nextSearch], 4);
+    }
+
+    @Benchmark
+    public CourseCatalog loadCourseCatalog(CatalogueState state) throws IOException {
+        return CourseCatalog.load(state.catalogueFile);
+    }
+
+    @Benchmark
+    public CourseCatalog mapCourseCatalog(CatalogueState state) throws IOException {
+        return CourseCatalog.map(state.catalogueFile);
+    }
+}
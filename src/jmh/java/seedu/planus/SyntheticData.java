@@ -0,0 +1,69 @@
+package seedu.planus;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates synthetic timetables and course catalogues for the benchmarks.
+ */
+final class SyntheticData {
+    // Index of the user timetable file used by benchmarks, so that real user timetables are never touched
+    static final int BENCHMARK_TIMETABLE_INDEX = -100;
+
+    private static final String[] GRADES = {"A", "B+", "S", null, "C", "A-", "CU", "B"};
+
+    private SyntheticData() {
+    }
+
+    static String courseCode(int i) {
+        return "SYN" + i;
+    }
+
+    /**
+     * Returns the courses of a synthetic plan, spread over all years and terms and partially graded.
+     */
+    static List<Course> courses(int size) throws Exception {
+        List<Course> courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int slot = i % 24;
+            Course course = new Course(courseCode(i), "Synthetic Course " + i, i % 5 + 1, slot / 4 + 1, slot % 4 + 1);
+            course.setGrade(GRADES[i % GRADES.length]);
+            courses.add(course);
+        }
+        return courses;
+    }
+
+    static Timetable timetable(int size) throws Exception {
+        Timetable timetable = new Timetable();
+        for (Course course : courses(size)) {
+            timetable.addCourse(course);
+        }
+        return timetable;
+    }
+
+    /**
+     * Returns the lines of a synthetic course list file, in the format of CourseList.csv.
+     */
+    static List<String> catalogueLines(int size) {
+        List<String> lines = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            lines.add(courseCode(i) + ",Synthetic Course " + i + "," + (i % 5 + 1));
+        }
+        return lines;
+    }
+
+    /**
+     * Turns off logging so that benchmarks measure the work itself rather than the console log output.
+     */
+    static void silenceLogging() {
+        Logger.getLogger("myLogger").setLevel(Level.OFF);
+    }
+
+    static PrintStream nullPrintStream() {
+        return new PrintStream(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,70 @@
+package seedu.planus;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building a plan course by course, and adding and removing a course in an existing plan.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TimetableBenchmark {
+    @Param({"100", "1000", "5000"})
+    private int planSize;
+
+    private List<Course> courses;
+    private Timetable timetable;
+    private Course extraCourse;
+
+    @Setup
+    public void setUp() throws Exception {
+        SyntheticData.silenceLogging();
+        courses = SyntheticData.courses(planSize);
+        timetable = SyntheticData.timetable(planSize);
+        extraCourse = new Course("EXTRA1000", "Extra Course", 4, 3, 2);
+    }
+
+    /**
+     * Builds a whole plan through addCourse, which is what loading a timetable file does.
+     */
+    @Benchmark
+    public Timetable loadPlan() throws Exception {
+        Timetable newTimetable = new Timetable();
+        for (Course course : courses) {
+            newTimetable.addCourse(course);
+        }
+        return newTimetable;
+    }
+
+    /**
+     * Builds the same plan through a single addAll, which is what the import command does.
+     */
+    @Benchmark
+    public Timetable importPlan() throws Exception {
+        Timetable newTimetable = new Timetable();
+        newTimetable.addAll(courses);
+        return newTimetable;
+    }
+
+    @Benchmark
+    public boolean addAndRemoveCourse() throws Exception {
+        timetable.addCourse(extraCourse);
+        return timetable.removeCourse(extraCourse.getCourseCode());
+    }
+}
@@ -0,0 +1,164 @@
+package seedu.planus;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Passes log records on to another handler, e.g. a FileHandler, from a background writer thread.
+ * Logging only puts the record into a fixed-size ring buffer, so the caller never waits for the disk.
+ * Messages are formatted with their parameters by the writer thread. When the buffer is full, records are dropped
+ * and counted instead of blocking the caller, and the number dropped is logged when the handler is closed.
+ */
+public class AsyncLogHandler extends Handler {
+    public static final int DEFAULT_CAPACITY = 8192;
+    // Put into the buffer by close() to tell the writer thread to stop
+    private static final LogRecord STOP = new LogRecord(Level.OFF, "");
+
+    private final Handler target;
+    private final ArrayBlockingQueue<LogRecord> buffer;
+    private final Thread writer;
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    // Held for reading while a record is put into the buffer, and for writing by close() until STOP is in the buffer,
+    // so that no record is put in after STOP
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    // Signalled by the writer thread after writing records and when it stops, for flush() to wait on
+    private final ReentrantLock writtenLock = new ReentrantLock();
+    private final Condition recordsWritten = writtenLock.newCondition();
+    private volatile boolean isClosed;
+    private volatile boolean isWriterStopped;
+
+    /**
+     * Constructs a handler that writes to the target handler from a new background thread.
+     *
+     * @param target Handler that the records are passed on to, which formats and writes them
+     * @param capacity Maximum number of records waiting to be written
+     */
+    public AsyncLogHandler(Handler target, int capacity) {
+        this.target = target;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.writer = new Thread(this::writeRecords, "planus-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void publish(LogRecord record) {
+        if (isClosed || !isLoggable(record)) {
+            return;
+        }
+        // the class and method that logged the record can only be found on the thread that logged it
+        record.getSourceClassName();
+        closeLock.readLock().lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            if (buffer.offer(record)) {
+                enqueuedCount.incrementAndGet();
+            } else {
+                droppedCount.incrementAndGet();
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Waits until every record published so far has been written, without spinning as the writer thread may be
+     * waiting for the disk, then flushes the target handler.
+     */
+    @Override
+    public void flush() {
+        long publishedCount = enqueuedCount.get();
+        writtenLock.lock();
+        try {
+            while (writtenCount.get() < publishedCount && !isWriterStopped) {
+                recordsWritten.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writtenLock.unlock();
+        }
+        target.flush();
+    }
+
+    /**
+     * Writes the records still in the buffer, stops the writer thread and closes the target handler.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            buffer.put(STOP);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (droppedCount.get() > 0) {
+            LogRecord record = new LogRecord(Level.WARNING, "Dropped {0} log records as the log buffer was full");
+            record.setParameters(new Object[] {droppedCount.get()});
+            target.publish(record);
+        }
+        target.close();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void writeRecords() {
+        ArrayList<LogRecord> records = new ArrayList<>();
+        try {
+            while (true) {
+                try {
+                    records.add(buffer.take());
+                } catch (InterruptedException e) {
+                    return;
+                }
+                buffer.drainTo(records);
+                for (LogRecord record : records) {
+                    if (record == STOP) {
+                        target.flush();
+                        return;
+                    }
+                    target.publish(record);
+                    writtenCount.incrementAndGet();
+                }
+                records.clear();
+                signalRecordsWritten();
+            }
+        } finally {
+            isWriterStopped = true;
+            signalRecordsWritten();
+        }
+    }
+
+    private void signalRecordsWritten() {
+        writtenLock.lock();
+        try {
+            recordsWritten.signalAll();
+        } finally {
+            writtenLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package seedu.planus;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the commands in a script file one after another, as if they were entered by the user.
+ * Output is buffered, and changes to the timetable are saved every few commands and at the end of the script
+ * instead of after every command. Lines that are not commands, e.g. a course name asked for by "add course",
+ * are read from the script as well.
+ */
+public class BatchRunner {
+    public static final int DEFAULT_FLUSH_INTERVAL = 1000;
+    private static final Logger logger = Logger.getLogger("myLogger");
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private final Path scriptPath;
+    private final int flushInterval;
+    // Time taken by each command, in nanoseconds
+    private long[] latencies;
+    private int commandCount;
+
+    /**
+     * Constructs a runner of a script file.
+     *
+     * @param scriptPath Path of the file containing one command per line
+     * @param flushInterval Number of commands after which the changes to the timetable are saved
+     */
+    public BatchRunner(Path scriptPath, int flushInterval) {
+        assert flushInterval > 0 : "Flush interval should be positive";
+        this.scriptPath = scriptPath;
+        this.flushInterval = flushInterval;
+        this.latencies = new long[1024];
+    }
+
+    /**
+     * Runs every command in the script, until the end of the script or a "bye" command,
+     * then prints a summary of the time taken per command.
+     */
+    public void run() {
+        PrintStream originalOut = System.out;
+        PrintStream bufferedOut = new PrintStream(new BufferedOutputStream(originalOut, OUTPUT_BUFFER_SIZE), false);
+        System.setOut(bufferedOut);
+        long startTime = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(scriptPath)) {
+            Ui.setInput(reader);
+            Storage.setWriteDeferred(true);
+            runCommands();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed reading batch file {0}", scriptPath);
+            Ui.printFailedLoadingFile();
+        } finally {
+            Storage.setWriteDeferred(false);
+            Ui.setInput(null);
+        }
+
+        long totalTime = System.nanoTime() - startTime;
+        printSummary(totalTime);
+        bufferedOut.flush();
+        System.setOut(originalOut);
+    }
+
+    public int getCommandCount() {
+        return commandCount;
+    }
+
+    private void runCommands() {
+        TimetableSession session = new TimetableSession();
+        session.getTimetable();
+
+        boolean isExit = false;
+        String line = Ui.readLine();
+        while (!isExit && line != null) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                long commandStartTime = System.nanoTime();
+                try {
+                    isExit = Parser.parseCommand(line, session.getTimetable());
+                    session.markSynced();
+                } catch (Exception e) {
+                    // save what the completed commands changed before the timetable is reloaded from disk
+                    Storage.flushDeferredWrites();
+                    session.markFailed();
+                    Ui.printErrorMessage(e.getMessage());
+                }
+                recordLatency(System.nanoTime() - commandStartTime);
+                if (commandCount % flushInterval == 0) {
+                    Storage.flushDeferredWrites();
+                }
+            }
+            if (!isExit) {
+                line = Ui.readLine();
+            }
+        }
+        session.writeBack();
+        logger.log(Level.INFO, "Batch of {0} commands completed", commandCount);
+    }
+
+    private void recordLatency(long nanos) {
+        if (commandCount == latencies.length) {
+            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+        }
+        latencies[commandCount] = nanos;
+        commandCount++;
+    }
+
+    private void printSummary(long totalNanos) {
+        if (commandCount == 0) {
+            Ui.printBatchSummary(0, totalNanos / 1e6, 0, 0, 0, 0);
+            return;
+        }
+        long[] sorted = Arrays.copyOf(latencies, commandCount);
+        Arrays.sort(sorted);
+        long sum = 0;
+        for (long latency : sorted) {
+            sum += latency;
+        }
+        Ui.printBatchSummary(commandCount, totalNanos / 1e6, (double) sum / commandCount / 1e3,
+                percentile(sorted, 50) / 1e3, percentile(sorted, 95) / 1e3, sorted[commandCount - 1] / 1e3);
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted values
+     */
+    private static long percentile(long[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
@@ -0,0 +1,17 @@
+package seedu.planus;
+
+/**
+ * Represents the handler of a command, e.g. "add course", registered in a {@link CommandRegistry}.
+ */
+@FunctionalInterface
+public interface Command {
+    /**
+     * Performs the command on the timetable
+     *
+     * @param arguments Words of the command line
+     * @param timetable The timetable to be modified
+     * @return Whether the application should exit
+     * @throws Exception When the command is invalid or fails, with the message to show the user
+     */
+    boolean execute(CommandArguments arguments, Timetable timetable) throws Exception;
+}
@@ -0,0 +1,174 @@
+package seedu.planus;
+
+import java.util.Objects;
+
+/**
+ * Represents a command line split into words in a single pass, with the positions of its y/, t/ and m/ arguments.
+ * Words are separated by single spaces exactly as String.split(" ") separates them: consecutive spaces give empty
+ * words and trailing spaces are dropped. A word is only copied out of the line when it is asked for.
+ */
+public class CommandArguments {
+    public static final String YEAR_PREFIX = "y/";
+    public static final String TERM_PREFIX = "t/";
+    public static final String MODULAR_CREDIT_PREFIX = "m/";
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final String line;
+    // Start of each word, and index just after its last character
+    private int[] wordStarts;
+    private int[] wordEnds;
+    private int wordCount;
+    // Index of the last word starting with each prefix, or -1 if there is none
+    private int yearIndex;
+    private int termIndex;
+    private int modularCreditIndex;
+
+    private CommandArguments(String line) {
+        this.line = line;
+        this.wordStarts = new int[INITIAL_CAPACITY];
+        this.wordEnds = new int[INITIAL_CAPACITY];
+        this.yearIndex = -1;
+        this.termIndex = -1;
+        this.modularCreditIndex = -1;
+    }
+
+    /**
+     * Splits a command line into words
+     *
+     * @param line The command line
+     * @return The words of the command line
+     */
+    public static CommandArguments parse(String line) {
+        CommandArguments arguments = new CommandArguments(line);
+        int start = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == ' ') {
+                arguments.addWord(start, i);
+                start = i + 1;
+            }
+        }
+        // trailing empty words are dropped, as String.split does
+        while (arguments.wordCount > 0 && arguments.wordEnds[arguments.wordCount - 1]
+                == arguments.wordStarts[arguments.wordCount - 1]) {
+            arguments.wordCount--;
+        }
+        return arguments;
+    }
+
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Returns the number of words, like the length of the array that String.split(" ") returns
+     *
+     * @return The number of words
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Returns a word of the command line
+     *
+     * @param index Index of the word, with the command word at 0
+     * @return The word
+     * @throws IndexOutOfBoundsException When there is no word at the index
+     */
+    public String get(int index) {
+        checkIndex(index);
+        return line.substring(wordStarts[index], wordEnds[index]);
+    }
+
+    /**
+     * Returns the command word in lower case
+     *
+     * @return The command word, or null if the line has no words
+     */
+    public String getCommandWord() {
+        return wordCount == 0 ? null : get(0).toLowerCase();
+    }
+
+    /**
+     * Returns whether a word starts with the given prefix, without copying the word
+     *
+     * @param index Index of the word
+     * @param prefix Prefix, e.g. {@link #YEAR_PREFIX}
+     * @return Whether the word starts with the prefix
+     * @throws IndexOutOfBoundsException When there is no word at the index
+     */
+    public boolean startsWith(int index, String prefix) {
+        checkIndex(index);
+        return hasPrefix(wordStarts[index], wordEnds[index], prefix);
+    }
+
+    /**
+     * Returns the part of a word after its prefix, e.g. "2" for "y/2"
+     *
+     * @param index Index of the word
+     * @param prefix Prefix that the word starts with
+     * @return The rest of the word
+     * @throws IndexOutOfBoundsException When there is no word at the index
+     */
+    public String getValue(int index, String prefix) {
+        checkIndex(index);
+        return line.substring(wordStarts[index] + prefix.length(), wordEnds[index]);
+    }
+
+    /**
+     * Returns the index of the last word starting with y/
+     *
+     * @return The index, or -1 if no word starts with y/
+     */
+    public int getYearIndex() {
+        return yearIndex;
+    }
+
+    /**
+     * Returns the index of the last word starting with t/
+     *
+     * @return The index, or -1 if no word starts with t/
+     */
+    public int getTermIndex() {
+        return termIndex;
+    }
+
+    /**
+     * Returns the index of the last word starting with m/
+     *
+     * @return The index, or -1 if no word starts with m/
+     */
+    public int getModularCreditIndex() {
+        return modularCreditIndex;
+    }
+
+    private void addWord(int start, int end) {
+        if (wordCount == wordStarts.length) {
+            int[] newWordStarts = new int[wordCount * 2];
+            int[] newWordEnds = new int[wordCount * 2];
+            System.arraycopy(wordStarts, 0, newWordStarts, 0, wordCount);
+            System.arraycopy(wordEnds, 0, newWordEnds, 0, wordCount);
+            wordStarts = newWordStarts;
+            wordEnds = newWordEnds;
+        }
+        wordStarts[wordCount] = start;
+        wordEnds[wordCount] = end;
+        if (hasPrefix(start, end, YEAR_PREFIX)) {
+            yearIndex = wordCount;
+        } else if (hasPrefix(start, end, TERM_PREFIX)) {
+            termIndex = wordCount;
+        } else if (hasPrefix(start, end, MODULAR_CREDIT_PREFIX)) {
+            modularCreditIndex = wordCount;
+        }
+        wordCount++;
+    }
+
+    private boolean hasPrefix(int start, int end, String prefix) {
+        return end - start >= prefix.length() && line.startsWith(prefix, start);
+    }
+
+    private void checkIndex(int index) {
+        // same exception and message as indexing past the end of the array from String.split
+        Objects.checkIndex(index, wordCount);
+    }
+}
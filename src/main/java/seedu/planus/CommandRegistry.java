@@ -0,0 +1,88 @@
+package seedu.planus;
+
+import java.util.HashMap;
+
+/**
+ * Maps command words, and the second words of commands that have them (e.g. "course" in "add course"),
+ * to the handlers of the commands. Command words are matched in any letter case.
+ * Finding a handler takes at most two hash lookups, however many commands are registered.
+ */
+public class CommandRegistry {
+    // Handlers of commands without a second word, keyed by command word
+    private final HashMap<String, Command> commands;
+    // Handlers of commands with a second word, keyed by command word, then by second word
+    private final HashMap<String, HashMap<String, Command>> subCommands;
+    // Message shown when the second word of a command is not registered, keyed by command word
+    private final HashMap<String, String> invalidSubCommandMessages;
+
+    public CommandRegistry() {
+        commands = new HashMap<>();
+        subCommands = new HashMap<>();
+        invalidSubCommandMessages = new HashMap<>();
+    }
+
+    /**
+     * Registers the handler of a command without a second word, e.g. "view"
+     *
+     * @param commandWord Command word, in lower case
+     * @param command Handler of the command
+     * @return This registry
+     */
+    public CommandRegistry register(String commandWord, Command command) {
+        commands.put(commandWord, command);
+        return this;
+    }
+
+    /**
+     * Registers the handler of a command with a second word, e.g. "add course"
+     *
+     * @param commandWord Command word, in lower case
+     * @param subCommandWord Second word, in lower case
+     * @param command Handler of the command
+     * @return This registry
+     */
+    public CommandRegistry register(String commandWord, String subCommandWord, Command command) {
+        subCommands.computeIfAbsent(commandWord, word -> new HashMap<>()).put(subCommandWord, command);
+        return this;
+    }
+
+    /**
+     * Sets the message shown when a command word is followed by a second word that is not registered
+     *
+     * @param commandWord Command word, in lower case
+     * @param message Message of the exception thrown by {@link #find(CommandArguments)}
+     * @return This registry
+     */
+    public CommandRegistry setInvalidSubCommandMessage(String commandWord, String message) {
+        invalidSubCommandMessages.put(commandWord, message);
+        return this;
+    }
+
+    /**
+     * Finds the handler of a command line
+     *
+     * @param arguments Words of the command line
+     * @return The handler, or null if the command word is not registered, or a second word is needed but missing
+     * @throws Exception When the second word is not registered for the command word
+     */
+    public Command find(CommandArguments arguments) throws Exception {
+        String commandWord = arguments.getCommandWord();
+        if (commandWord == null) {
+            return null;
+        }
+        Command command = commands.get(commandWord);
+        if (command != null) {
+            return command;
+        }
+
+        HashMap<String, Command> commandsOfWord = subCommands.get(commandWord);
+        if (commandsOfWord == null || arguments.size() < 2) {
+            return null;
+        }
+        command = commandsOfWord.get(arguments.get(1).toLowerCase());
+        if (command == null) {
+            throw new Exception(invalidSubCommandMessages.get(commandWord));
+        }
+        return command;
+    }
+}
@@ -11,13 +11,21 @@ public class Course {
 
     private static final int TERM_PER_YEAR = 4;
     private static final int MAX_CANDIDATURE_YEAR = 6;
-
-    private String courseCode;
-    private String courseName;
-    private int modularCredit;
-    private int year;
-    private int term;
-    private Grade grade;
+    private static final int MAX_MODULAR_CREDIT = 30;
+    private static final LetterGrade[] LETTER_GRADES = LetterGrade.values();
+    // Layout of the packed attributes: year in bits 0-2, term in bits 3-5, MCs in bits 6-10,
+    // and the grade in bits 11-15, as 0 for no grade or 1 + the ordinal of the LetterGrade
+    private static final int TERM_SHIFT = 3;
+    private static final int MODULAR_CREDIT_SHIFT = 6;
+    private static final int GRADE_SHIFT = 11;
+    private static final int YEAR_MASK = 0x7;
+    private static final int TERM_MASK = 0x7;
+    private static final int MODULAR_CREDIT_MASK = 0x1F;
+    private static final int GRADE_MASK = 0x1F;
+
+    // Code and name, shared with every other course with the same code and name
+    private final CourseInfo info;
+    private int packed;
 
     /**
      * Constructor to initialise all the attributes
@@ -27,19 +35,24 @@ public class Course {
      * @param modularCredit Number of modular credits that the course awards
      * @param year Year of study that the user taken or plans to take the course
      * @param term Term that the user taken or plans to take the course
+     * @throws Exception When the modular credits, year or term are not within acceptable range
      */
     public Course(String courseCode, String courseName, int modularCredit, int year, int term) throws Exception {
-        if (modularCredit < 0 || modularCredit > 30) {
+        if (modularCredit < 0 || modularCredit > MAX_MODULAR_CREDIT) {
             logger.log(Level.WARNING, "Modular Credit provided is not from 0 to 30");
             throw new Exception("Modular Credit provided is not from 0 to 30");
         }
+        if (year < 1 || year > MAX_CANDIDATURE_YEAR) {
+            logger.log(Level.WARNING, "{0}: Year provided is not from 1 to 6", courseCode);
+            throw new Exception("Year provided is not from 1 to 6");
+        }
+        if (term < 1 || term > TERM_PER_YEAR) {
+            logger.log(Level.WARNING, "{0}: Term provided is not from 1 to 4", courseCode);
+            throw new Exception("Term provided is not from 1 to 4");
+        }
 
-        this.courseCode = courseCode;
-        this.courseName = courseName;
-        this.modularCredit = modularCredit;
-        this.year = year;
-        this.term = term;
-        this.grade = new Grade();
+        this.info = CourseInfo.of(courseCode, courseName);
+        this.packed = year | term << TERM_SHIFT | modularCredit << MODULAR_CREDIT_SHIFT;
     }
 
     /**
@@ -54,34 +67,99 @@ public class Course {
         this(courseCode, courseName, 4, year, term);
     }
 
+    /**
+     * Constructor to copy another course, including its grade
+     *
+     * @param other Course to be copied
+     */
+    public Course(Course other) {
+        this.info = other.info;
+        this.packed = other.packed;
+    }
+
+    /**
+     * Sets the grade from its letter form. An invalid letter grade leaves the course without a grade.
+     *
+     * @param letterGrade Grade entered in letter form
+     */
     public void setGrade(String letterGrade) {
-        grade.setLetterGrade(letterGrade);
+        setLetterGrade(LetterGrade.parse(letterGrade));
+    }
+
+    /**
+     * Sets the grade that has already been parsed, e.g. when reading a timetable snapshot
+     *
+     * @param grade Grade of the course, or null for no grade
+     */
+    void setLetterGrade(LetterGrade grade) {
+        int gradeBits = grade == null ? 0 : grade.ordinal() + 1;
+        packed = packed & ~(GRADE_MASK << GRADE_SHIFT) | gradeBits << GRADE_SHIFT;
+    }
+
+    /**
+     * Changes the year and term that the course is planned in.
+     * Only to be called by the timetable holding the course, which files its courses by year and term
+     * and checks that they are within acceptable range.
+     *
+     * @param year Year of study that the user plans to take the course
+     * @param term Term that the user plans to take the course
+     */
+    void setYearAndTerm(int year, int term) {
+        assert year >= 1 && year <= MAX_CANDIDATURE_YEAR : "Year is not from 1 to 6";
+        assert term >= 1 && term <= TERM_PER_YEAR : "Term is not from 1 to 4";
+        packed = packed & ~(YEAR_MASK | TERM_MASK << TERM_SHIFT) | year | term << TERM_SHIFT;
     }
 
     public String getCourseCode() {
-        return courseCode;
+        return info.getCourseCode();
+    }
+
+    public String getCourseName() {
+        return info.getCourseName();
     }
 
     public int getModularCredit() {
-        return modularCredit;
+        return packed >>> MODULAR_CREDIT_SHIFT & MODULAR_CREDIT_MASK;
     }
 
     public int getYear() {
-        assert (year >= 1 || year <= MAX_CANDIDATURE_YEAR): "Year is not from 1 to 6";
-        return year;
+        return packed & YEAR_MASK;
     }
 
     public int getTerm() {
-        assert (term >= 1 || term <= TERM_PER_YEAR): "Term is not from 1 to 4";
-        return term;
+        return packed >>> TERM_SHIFT & TERM_MASK;
     }
 
     public double getNumberGrade() {
-        return grade.getNumberGrade();
+        LetterGrade grade = getGradeValue();
+        return grade == null ? -1 : grade.getNumberGrade();
     }
 
     public String getLetterGrade() {
-        return grade.getLetterGrade();
+        LetterGrade grade = getGradeValue();
+        return grade == null ? null : grade.toString();
+    }
+
+    /**
+     * Returns the number of modular credits counted towards the GPA,
+     * which is 0 when the course has no grade yet or is graded S/U
+     *
+     * @return Modular credits of the course counted towards the GPA
+     */
+    public int getGradedCredit() {
+        LetterGrade grade = getGradeValue();
+        return grade != null && !grade.isExcludedFromGpa() ? getModularCredit() : 0;
+    }
+
+    /**
+     * Returns the grade point of the course weighted by the modular credits counted towards the GPA, in halves.
+     * Grade points are multiples of 0.5, so they can be summed exactly as integers.
+     *
+     * @return Twice the grade point multiplied by the modular credits counted towards the GPA
+     */
+    public long getWeightedHalfPoints() {
+        LetterGrade grade = getGradeValue();
+        return grade == null ? 0 : (long) grade.getHalfPoints() * getGradedCredit();
     }
 
     /**
@@ -90,7 +168,7 @@ public class Course {
      * @return A string that contains the course code, course name, and the number of modular credits
      */
     public String getDetails() {
-        return courseCode + " " + courseName + " (MC: " + modularCredit + ")";
+        return getCourseCode() + " " + getCourseName() + " (MC: " + getModularCredit() + ")";
     }
 
     /**
@@ -99,7 +177,7 @@ public class Course {
      * @return A string that contains the course code and the grade and the course code
      */
     public String getGrade() {
-        return courseCode + ": " + getLetterGrade();
+        return getCourseCode() + ": " + getLetterGrade();
     }
 
     /**
@@ -109,8 +187,8 @@ public class Course {
      * @return A formatted string that contains the year and term that the user taken or plans to take the course
      */
     public String getYearAndTerm() {
-        assert (term >= 1 || term <= TERM_PER_YEAR): "Term is not from 1 to 4";
-        assert (year >= 1 || year <= MAX_CANDIDATURE_YEAR): "Year is not from 1 to 6";
+        int year = getYear();
+        int term = getTerm();
 
         String s = "";
         s += "Year " + year;
@@ -124,8 +202,14 @@ public class Course {
         return s;
     }
 
+    private LetterGrade getGradeValue() {
+        int gradeBits = packed >>> GRADE_SHIFT & GRADE_MASK;
+        return gradeBits == 0 ? null : LETTER_GRADES[gradeBits - 1];
+    }
+
     @Override
     public String toString() {
-        return courseCode + "," + courseName + "," + modularCredit + "," + year + "," + term + "," + getLetterGrade();
+        return getCourseCode() + "," + getCourseName() + "," + getModularCredit() + "," + getYear() + "," + getTerm()
+                + "," + getLetterGrade();
     }
 }
@@ -0,0 +1,229 @@
+package seedu.planus;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents the catalogue of all known courses, loaded once from the course list file and kept in memory,
+ * or mapped read-only from the file so that only the courses added later are kept in memory.
+ * Courses are indexed by their normalized (upper-cased) course code.
+ * The catalogue is shared by all users served at the same time, so its methods are synchronized.
+ */
+public class CourseCatalog {
+    private static final Logger logger = Logger.getLogger("myLogger");
+
+    private final Path filePath;
+    // Courses loaded from the file, or only the courses added since the file was mapped
+    private final HashMap<String, Entry> index;
+    // Courses of the mapped course list file, or null if the file was loaded into index
+    private final MappedCourseIndex mappedIndex;
+    // Sorted course codes for prefix lookup, rebuilt lazily after the catalogue changes
+    private String[] sortedCodes;
+
+    /**
+     * Constructs an empty catalogue backed by the given course list file.
+     *
+     * @param filePath Path of the course list file
+     */
+    public CourseCatalog(Path filePath) {
+        this(filePath, null);
+    }
+
+    private CourseCatalog(Path filePath, MappedCourseIndex mappedIndex) {
+        this.filePath = filePath;
+        this.index = new HashMap<>();
+        this.mappedIndex = mappedIndex;
+    }
+
+    /**
+     * Loads the course list file into a new catalogue. Lines that cannot be parsed are skipped.
+     *
+     * @param filePath Path of the course list file
+     * @return The catalogue containing all courses in the file
+     * @throws IOException When the file cannot be read
+     */
+    public static CourseCatalog load(Path filePath) throws IOException {
+        CourseCatalog catalog = new CourseCatalog(filePath);
+        try (CsvReader reader = new CsvReader(new FileReader(filePath.toFile()))) {
+            while (reader.readLine()) {
+                try {
+                    Entry entry = new Entry(normalize(reader.getField(0)), reader.getField(1), reader.getIntField(2));
+                    catalog.index.putIfAbsent(entry.getCourseCode(), entry);
+                } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                    logger.log(Level.WARNING, "Skipping malformed course list line {0}", reader.getLineNumber());
+                }
+            }
+        }
+        logger.log(Level.INFO, "Loaded {0} courses into the course catalogue", catalog.size());
+        return catalog;
+    }
+
+    /**
+     * Maps the course list file read-only into a new catalogue, whose courses are only read from the file when found.
+     * Courses added to the catalogue are still appended to the file, but are looked up in memory.
+     *
+     * @param filePath Path of the course list file
+     * @return The catalogue containing all courses in the file
+     * @throws IOException When the file cannot be mapped
+     */
+    public static CourseCatalog map(Path filePath) throws IOException {
+        return new CourseCatalog(filePath, MappedCourseIndex.map(filePath));
+    }
+
+    /**
+     * Returns the normalized form of a course code used as the key of the catalogue.
+     *
+     * @param courseCode Course code as entered by the user
+     * @return Trimmed and upper-cased course code
+     */
+    public static String normalize(String courseCode) {
+        return courseCode.trim().toUpperCase();
+    }
+
+    /**
+     * Finds the course with the given course code.
+     *
+     * @param courseCode Code of the course, in any letter case
+     * @return The catalogue entry of the course, or null if it is not in the catalogue
+     */
+    public synchronized Entry find(String courseCode) {
+        Entry entry = index.get(normalize(courseCode));
+        if (entry == null && mappedIndex != null) {
+            entry = mappedIndex.find(courseCode);
+        }
+        return entry;
+    }
+
+    /**
+     * Finds the courses with the given course codes, holding the catalogue lock once for all of them.
+     *
+     * @param courseCodes Codes of the courses, in any letter case
+     * @return The catalogue entries of the courses, in the same order, with null for courses not in the catalogue
+     */
+    public synchronized List<Entry> findAll(List<String> courseCodes) {
+        List<Entry> entries = new ArrayList<>(courseCodes.size());
+        for (String courseCode : courseCodes) {
+            entries.add(find(courseCode));
+        }
+        return entries;
+    }
+
+    /**
+     * Finds all courses whose course code starts with the given prefix, sorted by course code.
+     * A trailing "*" is accepted, e.g. "CS2*" returns the same courses as "CS2".
+     *
+     * @param prefix Prefix of the course codes, in any letter case
+     * @return The catalogue entries of all matching courses
+     */
+    public synchronized List<Entry> findByPrefix(String prefix) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.endsWith("*")) {
+            normalizedPrefix = normalizedPrefix.substring(0, normalizedPrefix.length() - 1);
+        }
+        if (sortedCodes == null) {
+            sortedCodes = index.keySet().toArray(new String[0]);
+            Arrays.sort(sortedCodes);
+        }
+
+        List<Entry> matches = new ArrayList<>();
+        int i = Arrays.binarySearch(sortedCodes, normalizedPrefix);
+        if (i < 0) {
+            i = -i - 1;
+        }
+        for (; i < sortedCodes.length && sortedCodes[i].startsWith(normalizedPrefix); i++) {
+            matches.add(index.get(sortedCodes[i]));
+        }
+        if (mappedIndex != null) {
+            for (Entry entry : mappedIndex.findByPrefix(normalizedPrefix)) {
+                if (!index.containsKey(entry.getCourseCode())) {
+                    matches.add(entry);
+                }
+            }
+            matches.sort(Comparator.comparing(Entry::getCourseCode));
+        }
+        return matches;
+    }
+
+    /**
+     * Adds a new course to the catalogue and appends it to the course list file.
+     * The catalogue stays usable even if the file cannot be written.
+     *
+     * @param courseCode Code of the course
+     * @param courseName Name of the course
+     * @param modularCredit Number of modular credits of the course
+     * @return The catalogue entry of the added course
+     */
+    public synchronized Entry add(String courseCode, String courseName, int modularCredit) {
+        Entry entry = new Entry(normalize(courseCode), courseName, modularCredit);
+        index.put(entry.getCourseCode(), entry);
+        sortedCodes = null;
+
+        try {
+            if (filePath.getParent() != null) {
+                Files.createDirectories(filePath.getParent());
+            }
+            try (FileWriter fw = new FileWriter(filePath.toFile(), true)) {
+                fw.write(entry.toString() + System.lineSeparator());
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed appending course to the course list file.");
+            Ui.printFailedToWrite();
+        }
+        return entry;
+    }
+
+    public synchronized int size() {
+        if (mappedIndex == null) {
+            return index.size();
+        }
+        int size = mappedIndex.size();
+        for (String courseCode : index.keySet()) {
+            if (mappedIndex.find(courseCode) == null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Represents a course in the catalogue.
+     */
+    public static class Entry {
+        private final String courseCode;
+        private final String courseName;
+        private final int modularCredit;
+
+        Entry(String courseCode, String courseName, int modularCredit) {
+            this.courseCode = courseCode;
+            this.courseName = courseName;
+            this.modularCredit = modularCredit;
+        }
+
+        public String getCourseCode() {
+            return courseCode;
+        }
+
+        public String getCourseName() {
+            return courseName;
+        }
+
+        public int getModularCredit() {
+            return modularCredit;
+        }
+
+        @Override
+        public String toString() {
+            return courseCode + "," + courseName + "," + modularCredit;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.planus;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the code and name of a course, shared by every Course with the same code and name.
+ * Instances are interned by {@link #of(String, String)}, so a course planned in many timetables and major templates
+ * keeps a single copy of its code and name in memory. Only the first name seen for a course code is interned, and the
+ * pool stops growing at {@link #MAX_POOL_SIZE} course codes, so that the codes and names submitted by users cannot
+ * fill the memory of a long-running server.
+ */
+public class CourseInfo {
+    // Far more than the number of courses offered, so that every real course fits
+    public static final int MAX_POOL_SIZE = 1 << 16;
+    // Course code and name in use keyed by course code, shared by all users served at the same time
+    private static final ConcurrentHashMap<String, CourseInfo> POOL = new ConcurrentHashMap<>();
+
+    private final String courseCode;
+    private final String courseName;
+
+    private CourseInfo(String courseCode, String courseName) {
+        this.courseCode = courseCode;
+        this.courseName = courseName;
+    }
+
+    /**
+     * Returns the shared instance with the given course code and name, or a new instance if it is not interned
+     *
+     * @param courseCode Code of the course
+     * @param courseName Name of the course
+     * @return The course code and name, which is the same instance for equal codes and names
+     */
+    public static CourseInfo of(String courseCode, String courseName) {
+        if (courseCode == null) {
+            return new CourseInfo(null, courseName);
+        }
+        CourseInfo sharedInfo = POOL.get(courseCode);
+        if (sharedInfo == null && POOL.size() < MAX_POOL_SIZE) {
+            sharedInfo = POOL.computeIfAbsent(courseCode, code -> new CourseInfo(code, courseName));
+        }
+        if (sharedInfo != null && Objects.equals(sharedInfo.courseName, courseName)) {
+            return sharedInfo;
+        }
+        return new CourseInfo(courseCode, courseName);
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    public String getCourseName() {
+        return courseName;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CourseInfo)) {
+            return false;
+        }
+        CourseInfo otherInfo = (CourseInfo) other;
+        return Objects.equals(courseCode, otherInfo.courseCode) && Objects.equals(courseName, otherInfo.courseName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseCode, courseName);
+    }
+}
@@ -0,0 +1,133 @@
+package seedu.planus;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads comma-separated lines one at a time and gives access to their fields by index.
+ * Lines may end with "\n", "\r\n" or "\r". Fields are located by scanning for commas, without regular expressions,
+ * and integer fields are parsed in place without creating a String for them.
+ */
+public class CsvReader implements Closeable {
+    private static final int MAX_INT_DIGITS = 9;
+
+    private final BufferedReader reader;
+    private String line;
+    private int lineNumber;
+    // Index of the comma (or the line end) that ends each field of the current line
+    private int[] fieldEnds;
+    private int fieldCount;
+
+    /**
+     * Constructs a reader of comma-separated lines.
+     *
+     * @param reader Source of the lines, which is buffered if it is not already a BufferedReader
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        this.fieldEnds = new int[8];
+    }
+
+    /**
+     * Moves on to the next line.
+     *
+     * @return Whether there is a next line; false at the end of the input
+     * @throws IOException When the input cannot be read
+     */
+    public boolean readLine() throws IOException {
+        line = reader.readLine();
+        if (line == null) {
+            fieldCount = 0;
+            return false;
+        }
+        lineNumber++;
+
+        fieldCount = 0;
+        int end = line.indexOf(',');
+        while (end != -1) {
+            addFieldEnd(end);
+            end = line.indexOf(',', end + 1);
+        }
+        addFieldEnd(line.length());
+        return true;
+    }
+
+    /**
+     * Returns the line number of the current line, starting from 1.
+     *
+     * @return The line number of the current line
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns a field of the current line.
+     *
+     * @param index Index of the field, starting from 0
+     * @return The field, which is empty if there is nothing between its commas
+     * @throws IndexOutOfBoundsException When the current line has fewer fields
+     */
+    public String getField(int index) {
+        checkIndex(index);
+        return line.substring(fieldStart(index), fieldEnds[index]);
+    }
+
+    /**
+     * Returns a field of the current line parsed as a non-negative integer.
+     *
+     * @param index Index of the field, starting from 0
+     * @return The value of the field
+     * @throws IndexOutOfBoundsException When the current line has fewer fields
+     * @throws NumberFormatException When the field is not made up of digits only
+     */
+    public int getIntField(int index) {
+        checkIndex(index);
+        int start = fieldStart(index);
+        int end = fieldEnds[index];
+        if (start == end || end - start > MAX_INT_DIGITS) {
+            throw new NumberFormatException("Invalid number at field " + index + " of line " + lineNumber);
+        }
+
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Invalid number at field " + index + " of line " + lineNumber);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void addFieldEnd(int end) {
+        if (fieldCount == fieldEnds.length) {
+            int[] newFieldEnds = new int[fieldEnds.length * 2];
+            System.arraycopy(fieldEnds, 0, newFieldEnds, 0, fieldCount);
+            fieldEnds = newFieldEnds;
+        }
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private int fieldStart(int index) {
+        return index == 0 ? 0 : fieldEnds[index - 1] + 1;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Line " + lineNumber + " has no field " + index);
+        }
+    }
+}
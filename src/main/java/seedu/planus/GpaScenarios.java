@@ -0,0 +1,433 @@
+package seedu.planus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Represents the GPA of a timetable and its courses that have no grade yet, copied out of the timetable so that
+ * what-if scenarios of grades for those courses can be evaluated in parallel without holding the timetable lock.
+ * Every combination of the given grades is evaluated when there are at most {@link #MAX_ENUMERATED_SCENARIOS} of them,
+ * and that many combinations drawn at random otherwise.
+ */
+public class GpaScenarios {
+    public static final long MAX_ENUMERATED_SCENARIOS = 1 << 20;
+    private static final int TERM_PER_YEAR = 4;
+    private static final int MAX_CANDIDATURE_YEAR = 6;
+    private static final int MAX_GPA_HUNDREDTHS = 500;
+    // Number of scenarios below which a task evaluates its scenarios itself instead of splitting them
+    private static final long SCENARIOS_PER_TASK = 1 << 14;
+
+    private final int gradedCredits;
+    private final long weightedHalfPoints;
+    // Codes and modular credits of the courses without a grade; courses of 0 MCs never change the GPA and are left out
+    private final String[] ungradedCourseCodes;
+    private final int[] ungradedCredits;
+
+    private GpaScenarios(int gradedCredits, long weightedHalfPoints, List<Course> ungradedCourses) {
+        this.gradedCredits = gradedCredits;
+        this.weightedHalfPoints = weightedHalfPoints;
+        this.ungradedCourseCodes = new String[ungradedCourses.size()];
+        this.ungradedCredits = new int[ungradedCourses.size()];
+        for (int i = 0; i < ungradedCourses.size(); i++) {
+            ungradedCourseCodes[i] = ungradedCourses.get(i).getCourseCode();
+            ungradedCredits[i] = ungradedCourses.get(i).getModularCredit();
+        }
+    }
+
+    /**
+     * Copies the GPA and the courses without a grade out of a timetable
+     *
+     * @param timetable Timetable of the user
+     * @return The GPA and ungraded courses of the timetable, which do not change when the timetable does
+     */
+    public static GpaScenarios of(Timetable timetable) {
+        int gradedCredits = 0;
+        long weightedHalfPoints = 0;
+        List<Course> ungradedCourses = new ArrayList<>();
+        timetable.readLock().lock();
+        try {
+            for (int year = 1; year <= MAX_CANDIDATURE_YEAR; year++) {
+                for (int term = 1; term <= TERM_PER_YEAR; term++) {
+                    gradedCredits += timetable.getTermGradedCredits(year, term);
+                    weightedHalfPoints += timetable.getTermWeightedHalfPoints(year, term);
+                    for (Course course : timetable.getTermCourses(year, term)) {
+                        if (course.getLetterGrade() == null && course.getModularCredit() > 0) {
+                            ungradedCourses.add(course);
+                        }
+                    }
+                }
+            }
+            return new GpaScenarios(gradedCredits, weightedHalfPoints, ungradedCourses);
+        } finally {
+            timetable.readLock().unlock();
+        }
+    }
+
+    public int getGradedCredits() {
+        return gradedCredits;
+    }
+
+    public long getWeightedHalfPoints() {
+        return weightedHalfPoints;
+    }
+
+    public int getUngradedCount() {
+        return ungradedCredits.length;
+    }
+
+    public String getUngradedCourseCode(int index) {
+        return ungradedCourseCodes[index];
+    }
+
+    public int getUngradedCredit(int index) {
+        return ungradedCredits[index];
+    }
+
+    /**
+     * Returns the sum of the modular credits of the courses without a grade
+     *
+     * @return The modular credits
+     */
+    public int getUngradedCredits() {
+        int credits = 0;
+        for (int credit : ungradedCredits) {
+            credits += credit;
+        }
+        return credits;
+    }
+
+    /**
+     * Evaluates the cumulative GPA of scenarios in which every course without a grade gets one of the given grades,
+     * on the common fork-join pool
+     *
+     * @param grades Grades that each course may get
+     * @param seed Seed of the random scenarios, used when there are too many scenarios to evaluate all of them
+     * @return The distribution of the cumulative GPA over the scenarios
+     */
+    public Distribution evaluate(List<LetterGrade> grades, long seed) {
+        return evaluate(grades, seed, ForkJoinPool.commonPool(), MAX_ENUMERATED_SCENARIOS);
+    }
+
+    /**
+     * Evaluates the cumulative GPA of scenarios as {@link #evaluate(List, long)} does
+     *
+     * @param grades Grades that each course may get
+     * @param seed Seed of the random scenarios
+     * @param pool Pool that evaluates the scenarios
+     * @param maxScenarios Number of scenarios above which scenarios are drawn at random, and how many are drawn
+     * @return The distribution of the cumulative GPA over the scenarios
+     */
+    Distribution evaluate(List<LetterGrade> grades, long seed, ForkJoinPool pool, long maxScenarios) {
+        assert !grades.isEmpty() : "At least one grade is needed";
+        int[] halfPoints = new int[grades.size()];
+        boolean[] isExcluded = new boolean[grades.size()];
+        for (int i = 0; i < grades.size(); i++) {
+            halfPoints[i] = grades.get(i).getHalfPoints();
+            isExcluded[i] = grades.get(i).isExcludedFromGpa();
+        }
+
+        long scenarioCount = 1;
+        for (int i = 0; i < ungradedCredits.length && scenarioCount <= maxScenarios; i++) {
+            scenarioCount *= grades.size();
+        }
+        boolean isSampled = scenarioCount > maxScenarios;
+        if (isSampled) {
+            scenarioCount = maxScenarios;
+        }
+        long[] histogram = pool.invoke(new ScenarioTask(halfPoints, isExcluded, isSampled, seed, 0, scenarioCount));
+        return new Distribution(histogram, scenarioCount, isSampled);
+    }
+
+    /**
+     * Finds the lowest grades for the courses without a grade with which the cumulative GPA reaches the target.
+     * Every course gets the same grade, except for courses that get the next higher grade to make up the rest of the
+     * grade points needed; those courses are chosen so that as few MCs as possible need the higher grade.
+     * Courses are assumed to be graded rather than taken S/U, as taking a course S/U leaves it out of the GPA.
+     *
+     * @param targetGpa Target cumulative GPA, in hundredths
+     * @return The grade of each course without a grade, at the same index as {@link #getUngradedCourseCode(int)},
+     *     or null if the target cannot be reached even with an A in every course, or there are no MCs counted
+     *     towards the GPA
+     */
+    public LetterGrade[] findMinimumGrades(int targetGpa) {
+        LetterGrade[] minimumGrades = new LetterGrade[ungradedCredits.length];
+        int totalCredits = gradedCredits + getUngradedCredits();
+        if (totalCredits == 0) {
+            // the GPA stays 0 without any MCs counted towards it
+            return targetGpa > 0 ? null : minimumGrades;
+        }
+        // GPA * 100 >= target, i.e. (weightedHalfPoints + neededHalfPoints) * 100 >= target * 2 * totalCredits
+        long neededHalfPoints = Math.max(0,
+                ceilDivide(2L * targetGpa * totalCredits - 100 * weightedHalfPoints, 100));
+
+        List<LetterGrade> levels = getGpaGradeLevels();
+        int lower = 0;
+        while (lower + 1 < levels.size()
+                && (long) levels.get(lower + 1).getHalfPoints() * getUngradedCredits() < neededHalfPoints) {
+            lower++;
+        }
+        LetterGrade lowerGrade = levels.get(lower);
+        long shortfall = neededHalfPoints - (long) lowerGrade.getHalfPoints() * getUngradedCredits();
+        Arrays.fill(minimumGrades, lowerGrade);
+        if (shortfall <= 0) {
+            return minimumGrades;
+        }
+        if (lower + 1 == levels.size()) {
+            return null;
+        }
+
+        LetterGrade higherGrade = levels.get(lower + 1);
+        int neededCredits = (int) ceilDivide(shortfall, higherGrade.getHalfPoints() - lowerGrade.getHalfPoints());
+        for (int i : findFewestCredits(neededCredits)) {
+            minimumGrades[i] = higherGrade;
+        }
+        return minimumGrades;
+    }
+
+    /**
+     * Returns the grades counted towards the GPA with different grade points, from the lowest to the highest
+     */
+    private static List<LetterGrade> getGpaGradeLevels() {
+        List<LetterGrade> levels = new ArrayList<>();
+        LetterGrade[] grades = LetterGrade.values();
+        for (int i = grades.length - 1; i >= 0; i--) {
+            boolean isHigher = levels.isEmpty()
+                    || grades[i].getHalfPoints() > levels.get(levels.size() - 1).getHalfPoints();
+            if (!grades[i].isExcludedFromGpa() && isHigher) {
+                levels.add(grades[i]);
+            }
+        }
+        return levels;
+    }
+
+    /**
+     * Chooses the courses without a grade whose MCs add up to the smallest sum of at least neededCredits,
+     * with a subset sum over the MCs that takes time proportional to the number of courses times their MCs
+     *
+     * @return Indexes of the chosen courses
+     */
+    private List<Integer> findFewestCredits(int neededCredits) {
+        int ungradedTotal = getUngradedCredits();
+        assert neededCredits <= ungradedTotal : "All courses together should have enough MCs";
+        // Index of the course with which a sum of MCs was first reached, or -1 if it cannot be reached
+        int[] lastCourse = new int[ungradedTotal + 1];
+        Arrays.fill(lastCourse, -1);
+        lastCourse[0] = ungradedCredits.length;
+        for (int i = 0; i < ungradedCredits.length; i++) {
+            for (int sum = ungradedTotal; sum >= ungradedCredits[i]; sum--) {
+                if (lastCourse[sum] == -1 && lastCourse[sum - ungradedCredits[i]] != -1) {
+                    lastCourse[sum] = i;
+                }
+            }
+        }
+
+        int sum = neededCredits;
+        while (lastCourse[sum] == -1) {
+            sum++;
+        }
+        List<Integer> chosenCourses = new ArrayList<>();
+        while (sum > 0) {
+            chosenCourses.add(lastCourse[sum]);
+            sum -= ungradedCredits[lastCourse[sum]];
+        }
+        return chosenCourses;
+    }
+
+    private static long ceilDivide(long dividend, long divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    /**
+     * Evaluates the scenarios from start (inclusive) to end (exclusive), splitting them between two subtasks while
+     * there are many
+     */
+    private class ScenarioTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] halfPoints;
+        private final boolean[] isExcluded;
+        private final boolean isSampled;
+        private final long seed;
+        private final long start;
+        private final long end;
+
+        ScenarioTask(int[] halfPoints, boolean[] isExcluded, boolean isSampled, long seed, long start, long end) {
+            this.halfPoints = halfPoints;
+            this.isExcluded = isExcluded;
+            this.isSampled = isSampled;
+            this.seed = seed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (end - start <= SCENARIOS_PER_TASK) {
+                long[] histogram = new long[MAX_GPA_HUNDREDTHS + 1];
+                if (isSampled) {
+                    sample(histogram);
+                } else {
+                    enumerate(histogram);
+                }
+                return histogram;
+            }
+
+            long middle = start + (end - start) / 2;
+            ScenarioTask left = new ScenarioTask(halfPoints, isExcluded, isSampled, seed, start, middle);
+            ScenarioTask right = new ScenarioTask(halfPoints, isExcluded, isSampled, seed, middle, end);
+            left.fork();
+            long[] histogram = right.compute();
+            long[] leftHistogram = left.join();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += leftHistogram[i];
+            }
+            return histogram;
+        }
+
+        /**
+         * Evaluates the scenarios numbered from start to end, in which course i gets grade digit i of the number
+         * in base halfPoints.length. Going from one scenario to the next only changes the GPA sums for the digits
+         * that change, like an odometer.
+         */
+        private void enumerate(long[] histogram) {
+            int gradeCount = halfPoints.length;
+            int[] digits = new int[ungradedCredits.length];
+            long number = start;
+            for (int i = 0; i < digits.length; i++) {
+                digits[i] = (int) (number % gradeCount);
+                number /= gradeCount;
+            }
+            int credits = gradedCredits;
+            long points = weightedHalfPoints;
+            for (int i = 0; i < digits.length; i++) {
+                credits += creditsOf(i, digits[i]);
+                points += pointsOf(i, digits[i]);
+            }
+
+            for (long scenario = start; scenario < end; scenario++) {
+                histogram[PlanRollup.computeGpaHundredths(points, credits)]++;
+                for (int i = 0; i < digits.length; i++) {
+                    credits -= creditsOf(i, digits[i]);
+                    points -= pointsOf(i, digits[i]);
+                    digits[i] = digits[i] + 1 == gradeCount ? 0 : digits[i] + 1;
+                    credits += creditsOf(i, digits[i]);
+                    points += pointsOf(i, digits[i]);
+                    if (digits[i] != 0) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Evaluates end - start scenarios drawn at random. The draws only depend on the seed and on start,
+         * so the distribution does not depend on how the scenarios were split between tasks.
+         */
+        private void sample(long[] histogram) {
+            SplittableRandom random = new SplittableRandom(seed ^ start * 0x9E3779B97F4A7C15L);
+            for (long scenario = start; scenario < end; scenario++) {
+                int credits = gradedCredits;
+                long points = weightedHalfPoints;
+                for (int i = 0; i < ungradedCredits.length; i++) {
+                    int grade = random.nextInt(halfPoints.length);
+                    credits += creditsOf(i, grade);
+                    points += pointsOf(i, grade);
+                }
+                histogram[PlanRollup.computeGpaHundredths(points, credits)]++;
+            }
+        }
+
+        private int creditsOf(int course, int grade) {
+            return isExcluded[grade] ? 0 : ungradedCredits[course];
+        }
+
+        private long pointsOf(int course, int grade) {
+            return (long) halfPoints[grade] * creditsOf(course, grade);
+        }
+    }
+
+    /**
+     * Represents how many scenarios end with each cumulative GPA, in hundredths
+     */
+    public static class Distribution {
+        private final long[] histogram;
+        private final long scenarioCount;
+        private final boolean isSampled;
+
+        Distribution(long[] histogram, long scenarioCount, boolean isSampled) {
+            this.histogram = histogram;
+            this.scenarioCount = scenarioCount;
+            this.isSampled = isSampled;
+        }
+
+        public long getScenarioCount() {
+            return scenarioCount;
+        }
+
+        /**
+         * Returns whether the scenarios were drawn at random, as there were too many to evaluate all of them
+         *
+         * @return Whether the scenarios were sampled
+         */
+        public boolean isSampled() {
+            return isSampled;
+        }
+
+        public int getMinGpaHundredths() {
+            return getPercentileGpaHundredths(0);
+        }
+
+        public int getMaxGpaHundredths() {
+            return getPercentileGpaHundredths(100);
+        }
+
+        /**
+         * Returns the nearest-rank percentile of the GPA of the scenarios
+         *
+         * @param percent Percentile, from 0 for the lowest GPA to 100 for the highest
+         * @return The GPA, in hundredths
+         */
+        public int getPercentileGpaHundredths(int percent) {
+            long rank = Math.max(1, (long) Math.ceil(percent / 100.0 * scenarioCount));
+            long count = 0;
+            for (int gpa = 0; gpa < histogram.length; gpa++) {
+                count += histogram[gpa];
+                if (count >= rank) {
+                    return gpa;
+                }
+            }
+            return MAX_GPA_HUNDREDTHS;
+        }
+
+        /**
+         * Returns the mean GPA of the scenarios
+         *
+         * @return The mean GPA, in hundredths, rounded half up
+         */
+        public int getMeanGpaHundredths() {
+            long sum = 0;
+            for (int gpa = 0; gpa < histogram.length; gpa++) {
+                sum += histogram[gpa] * gpa;
+            }
+            return (int) ((2 * sum + scenarioCount) / (2 * scenarioCount));
+        }
+
+        /**
+         * Returns the number of scenarios that end with at least the given GPA
+         *
+         * @param gpaHundredths GPA, in hundredths
+         * @return The number of scenarios
+         */
+        public long countAtLeast(int gpaHundredths) {
+            long count = 0;
+            for (int gpa = Math.max(gpaHundredths, 0); gpa < histogram.length; gpa++) {
+                count += histogram[gpa];
+            }
+            return count;
+        }
+    }
+}
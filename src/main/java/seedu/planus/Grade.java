@@ -4,8 +4,7 @@ package seedu.planus;
  *  Represents the grade of a course
  */
 public class Grade {
-    private String letterGrade;
-    private double numberGrade;
+    private LetterGrade letterGrade;
 
     /**
      * Constructor when no params are provided, initialising letterGrade to be null
@@ -25,71 +24,42 @@ public class Grade {
     }
 
     public String getLetterGrade() {
-        return letterGrade;
+        return letterGrade == null ? null : letterGrade.toString();
     }
 
+    /**
+     * Sets the grade from its letter form. An invalid letter grade leaves the course without a grade.
+     *
+     * @param letterGrade Grade entered in letter form
+     */
     public void setLetterGrade(String letterGrade) {
-        this.letterGrade = letterGrade;
-        setNumberGrade(letterGrade);
-
-        if (numberGrade == -1) {
-            this.letterGrade = null;
-        }
+        this.letterGrade = LetterGrade.parse(letterGrade);
     }
 
+    /**
+     * Returns the grade in number form
+     *
+     * @return The grade point, or -1 if there is no grade
+     */
     public double getNumberGrade() {
-        return numberGrade;
+        return letterGrade == null ? -1 : letterGrade.getNumberGrade();
     }
 
     /**
-     * Transforms the grade from letter form to number form
+     * Returns whether the grade is counted towards the GPA, i.e. the grade exists and is not an S/U grade
      *
-     * @param letterGrade Grade entered in letter form
+     * @return Whether the grade is counted towards the GPA
      */
-    private void setNumberGrade(String letterGrade) {
-        if (letterGrade == null) {
-            this.numberGrade = -1;
-            return;
-        }
+    public boolean isCountedInGpa() {
+        return letterGrade != null && !letterGrade.isExcludedFromGpa();
+    }
 
-        switch(letterGrade) {
-        case "A+":
-        case "A":
-            this.numberGrade = 5.00;
-            break;
-        case "A-":
-            this.numberGrade = 4.50;
-            break;
-        case "B+":
-            this.numberGrade = 4.00;
-            break;
-        case "B":
-            this.numberGrade = 3.50;
-            break;
-        case "B-":
-            this.numberGrade = 3.00;
-            break;
-        case "C+":
-            this.numberGrade = 2.50;
-            break;
-        case "C":
-            this.numberGrade = 2.00;
-            break;
-        case "D+":
-            this.numberGrade = 1.50;
-            break;
-        case "D":
-            this.numberGrade = 1.00;
-            break;
-        case "F":
-        case "S":
-        case "U":
-        case "CS":
-        case "CU":
-            this.numberGrade = 0.00;
-            break;
-        default:
-            this.numberGrade = -1;
-        }
+    /**
+     * Returns the grade point in halves
+     *
+     * @return Twice the grade point, or 0 if there is no grade
+     */
+    public int getHalfPoints() {
+        return letterGrade == null ? 0 : letterGrade.getHalfPoints();
     }
 }
@@ -1,13 +1,15 @@
 //@@author ZhangWenyue3325
 package seedu.planus;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class GradeChecker {
     private static Logger logger = Logger.getLogger("myLogger");
     private static final int TERM_PER_YEAR = 4;
     private static final int MAX_CANDIDATURE_YEAR = 6;
+    // Seed of the what-if scenarios drawn at random, so that the same plan always gives the same report
+    private static final long WHAT_IF_SEED = 2113;
 
     /**
      * Returns a formatted string containing the grades for all semesters of the user
@@ -16,73 +18,7 @@ public class GradeChecker {
      * @return A string with the grades
      */
     public static String checkGrade(Timetable timetable) {
-        assert timetable != null : "Timetable provided cannot be null.";
-        int totalMCsWithoutSU = 0;
-        int yearMCsWithoutSU = 0;
-        int termMCsWithoutSU = 0;
-        double totalGrade = 0.00;
-        double yearGrade = 0.00;
-        double termGrade = 0.00;
-        int maxYear = Math.max(findMaxYear(timetable), 4);
-
-        StringBuilder plan = new StringBuilder();
-
-        for (int y = 1; y <= maxYear; y++) {
-            plan.append("Year ").append(y).append(":").append(System.lineSeparator());
-
-            for (int t = 1; t <= TERM_PER_YEAR; t++) {
-                int index = timetable.searchTimetableIndex(y, t);
-                if (index == -1) {
-                    continue;
-                }
-
-                plan.append(timetable.courses.get(index).get(0).getYearAndTerm()).append(":")
-                        .append(System.lineSeparator());
-
-                for (Course course : timetable.courses.get(index)) {
-                    plan.append("  ").append(course.getGrade()).append(System.lineSeparator());
-                    Pair<Integer, Double> MCandGrade = getMCandGrade(course);
-                    termMCsWithoutSU += MCandGrade.getKey();
-                    termGrade += MCandGrade.getValue();
-                }
-
-                double termGPA = 0.00;
-                if (termMCsWithoutSU != 0) {
-                    termGPA = termGrade / termMCsWithoutSU;
-                }
-
-                plan.append("Term GPA: ").append(String.format("%.2f", termGPA)).append(System.lineSeparator())
-                        .append("-----------------------------").append(System.lineSeparator());
-
-                yearMCsWithoutSU += termMCsWithoutSU;
-                yearGrade += termGrade;
-                termMCsWithoutSU = 0;
-                termGrade = 0.00;
-            }
-
-            double yearGPA = 0.00;
-            if (yearMCsWithoutSU != 0) {
-                yearGPA = yearGrade / yearMCsWithoutSU;
-            }
-
-            plan.append("Year ").append(y).append(" GPA: ").append(String.format("%.2f", yearGPA))
-                    .append(System.lineSeparator()).append(System.lineSeparator());
-
-            totalMCsWithoutSU += yearMCsWithoutSU;
-            totalGrade += yearGrade;
-            yearMCsWithoutSU = 0;
-            yearGrade = 0.00;
-        }
-
-        double cumulativeGPA = 0.00;
-        if (totalMCsWithoutSU != 0) {
-            cumulativeGPA = totalGrade / totalMCsWithoutSU;
-        }
-        assert cumulativeGPA >= 0.00 && cumulativeGPA <= 5.00 : "Cumulative GPA is out of bounds.";
-        plan.append("Total GPA: ").append(String.format("%.2f", cumulativeGPA)).append(System.lineSeparator())
-                .append(System.lineSeparator());
-
-        return plan.toString();
+        return ReportWriter.render(report -> writeGrades(report, timetable));
     }
 
     /**
@@ -93,120 +29,214 @@ public class GradeChecker {
      * @return A string with the year's grades
      */
     public static String checkGrade(Timetable timetable, int year) {
-        assert year >= 1 && year <= MAX_CANDIDATURE_YEAR : "Year parameter is out of valid range.";
-        int yearMCsWithoutSU = 0;
-        int termMCsWithoutSU = 0;
-        double yearGrade = 0.00;
-        double termGrade = 0.00;
-
-        StringBuilder plan = new StringBuilder();
-
-        plan.append("Year ").append(year).append(":").append(System.lineSeparator());
+        return ReportWriter.render(report -> writeGrades(report, timetable, year));
+    }
 
-        for (int t = 1; t <= TERM_PER_YEAR; t++) {
-            int index = timetable.searchTimetableIndex(year, t);
-            if (index == -1) {
-                continue;
-            }
+    /**
+     * Returns a formatted string containing the grades for the year and term specified
+     *
+     * @param timetable Timetable of the user
+     * @param year      Year of study for which the user wants to check the grade
+     * @param term      Term of study for which the user wants to check the grade
+     * @return A string with the term's grades
+     */
+    public static String checkGrade(Timetable timetable, int year, int term) {
+        return ReportWriter.render(report -> writeGrades(report, timetable, year, term));
+    }
 
-            plan.append(timetable.courses.get(index).get(0).getYearAndTerm()).append(":")
-                    .append(System.lineSeparator());
+    /**
+     * Writes the grades for all semesters of the user, formatted as by {@link #checkGrade(Timetable)}
+     *
+     * @param report    Writer of the report
+     * @param timetable Timetable of the user
+     */
+    public static void writeGrades(ReportWriter report, Timetable timetable) {
+        assert timetable != null : "Timetable provided cannot be null.";
+        timetable.readLock().lock();
+        try {
+            PlanRollup rollup = PlanRollup.ofYears(timetable, 1, MAX_CANDIDATURE_YEAR);
+            writeYearGrades(report, rollup, Math.max(rollup.getMaxYear(), 4));
+            writeTotalGpa(report, rollup);
+        } finally {
+            timetable.readLock().unlock();
+        }
+    }
 
-            for (Course course : timetable.courses.get(index)) {
-                plan.append("  ").append(course.getGrade()).append(System.lineSeparator());
-                Pair<Integer, Double> MCandGrade = getMCandGrade(course);
-                termMCsWithoutSU += MCandGrade.getKey();
-                termGrade += MCandGrade.getValue();
-            }
+    /**
+     * Writes the grades for the year specified, formatted as by {@link #checkGrade(Timetable, int)}
+     *
+     * @param report    Writer of the report
+     * @param timetable Timetable of the user
+     * @param year      Year of study for which the user wants to check the grade
+     */
+    public static void writeGrades(ReportWriter report, Timetable timetable, int year) {
+        writeGradesOfYears(report, timetable, year, year);
+    }
 
-            double termGPA = 0.00;
-            if (termMCsWithoutSU != 0) {
-                termGPA = termGrade / termMCsWithoutSU;
+    /**
+     * Writes the grades for the years from fromYear to toYear, followed by the GPA of all the years
+     * if the range is more than a single year
+     *
+     * @param report    Writer of the report
+     * @param timetable Timetable of the user
+     * @param fromYear  First year of study of the range
+     * @param toYear    Last year of study of the range
+     */
+    public static void writeGradesOfYears(ReportWriter report, Timetable timetable, int fromYear, int toYear) {
+        assert fromYear >= 1 && toYear <= MAX_CANDIDATURE_YEAR : "Year parameter is out of valid range.";
+        timetable.readLock().lock();
+        try {
+            PlanRollup rollup = PlanRollup.ofYears(timetable, fromYear, toYear);
+            writeYearGrades(report, rollup, toYear);
+            if (fromYear != toYear) {
+                writeTotalGpa(report, rollup);
             }
-
-            plan.append("Term GPA: ").append(String.format("%.2f", termGPA)).append(System.lineSeparator())
-                    .append("-----------------------------").append(System.lineSeparator());
-
-            yearMCsWithoutSU += termMCsWithoutSU;
-            yearGrade += termGrade;
-            termMCsWithoutSU = 0;
-            termGrade = 0.00;
-        }
-
-        double yearGPA = 0.00;
-        if (yearMCsWithoutSU != 0) {
-            yearGPA = yearGrade / yearMCsWithoutSU;
+        } finally {
+            timetable.readLock().unlock();
         }
-        assert yearGPA >= 0.00 : "The GPA for the given academic year should be non-negative.";
-
-        plan.append("Year ").append(year).append(" GPA: ").append(String.format("%.2f", yearGPA))
-                .append(System.lineSeparator()).append(System.lineSeparator());
-
-        return plan.toString();
     }
 
     /**
-     * Returns a formatted string containing the grades for the year and term specified
+     * Writes the grades for the year and term specified, formatted as by {@link #checkGrade(Timetable, int, int)}
      *
+     * @param report    Writer of the report
      * @param timetable Timetable of the user
      * @param year      Year of study for which the user wants to check the grade
      * @param term      Term of study for which the user wants to check the grade
-     * @return A string with the term's grades
      */
-    public static String checkGrade(Timetable timetable, int year, int term) {
+    public static void writeGrades(ReportWriter report, Timetable timetable, int year, int term) {
         assert year >= 1 && year <= MAX_CANDIDATURE_YEAR : "Year parameter is out of valid range.";
         assert term >= 1 && term <= TERM_PER_YEAR : "Term parameter is out of valid range.";
-        int termMCsWithoutSU = 0;
-        double termGrade = 0.00;
-        int index = timetable.searchTimetableIndex(year, term);
-
-        StringBuilder plan = new StringBuilder();
-
-        plan.append(timetable.courses.get(index).get(0).getYearAndTerm()).append(":").append(System.lineSeparator());
-
-        for (Course course : timetable.courses.get(index)) {
-            plan.append("  ").append(course.getGrade()).append(System.lineSeparator());
-            Pair<Integer, Double> MCandGrade = getMCandGrade(course);
-            termMCsWithoutSU += MCandGrade.getKey();
-            termGrade += MCandGrade.getValue();
+        timetable.readLock().lock();
+        try {
+            PlanRollup rollup = PlanRollup.ofTerm(timetable, year, term);
+            writeTermGrades(report, rollup.getTerms().get(0));
+        } finally {
+            timetable.readLock().unlock();
         }
+    }
 
-        double termGPA = 0.00;
-        if (termMCsWithoutSU != 0) {
-            termGPA = termGrade / termMCsWithoutSU;
+    /**
+     * Writes the distribution of the cumulative GPA over what-if scenarios, in which each course without a grade
+     * gets one of the given grades. The scenarios are evaluated in parallel on a copy of the timetable,
+     * which is left unchanged.
+     *
+     * @param report        Writer of the report
+     * @param timetable     Timetable of the user
+     * @param grades        Grades that each course without a grade may get
+     * @param targetGpa     GPA to count the scenarios reaching, in hundredths, or -1 to leave out the count
+     */
+    public static void writeWhatIf(ReportWriter report, Timetable timetable, List<LetterGrade> grades,
+            int targetGpa) {
+        assert !grades.isEmpty() : "At least one grade is needed";
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+        GpaScenarios.Distribution distribution = scenarios.evaluate(grades, WHAT_IF_SEED);
+
+        report.append("Courses without a grade: ").append(scenarios.getUngradedCount())
+                .append(" (MCs: ").append(scenarios.getUngradedCredits()).append(")").newLine();
+        report.append("Grades tried: ");
+        for (int i = 0; i < grades.size(); i++) {
+            report.append(i == 0 ? "" : ", ").append(grades.get(i).toString());
+        }
+        report.newLine().append("Scenarios: ").append(String.valueOf(distribution.getScenarioCount()))
+                .append(distribution.isSampled() ? ", drawn at random" : ", all combinations").newLine();
+        report.append("Lowest GPA: ").appendGpa(distribution.getMinGpaHundredths()).newLine();
+        report.append("Median GPA: ").appendGpa(distribution.getPercentileGpaHundredths(50)).newLine();
+        report.append("Mean GPA: ").appendGpa(distribution.getMeanGpaHundredths()).newLine();
+        report.append("Highest GPA: ").appendGpa(distribution.getMaxGpaHundredths()).newLine();
+        if (targetGpa >= 0) {
+            long count = distribution.countAtLeast(targetGpa);
+            report.append("Scenarios reaching GPA ").appendGpa(targetGpa).append(": ")
+                    .append(String.valueOf(count)).append(" of ")
+                    .append(String.valueOf(distribution.getScenarioCount()))
+                    .append(String.format(" (%.2f%%)", 100.0 * count / distribution.getScenarioCount())).newLine();
         }
-        assert termGPA >= 0.00 : "The GPA of the semester should be non-negative.";
+    }
 
-        plan.append("Term GPA: ").append(String.format("%.2f", termGPA)).append(System.lineSeparator())
-                .append("-----------------------------").append(System.lineSeparator());
+    /**
+     * Writes the lowest grades the courses without a grade need for the cumulative GPA to reach a target,
+     * grouped by grade from the highest
+     *
+     * @param report        Writer of the report
+     * @param timetable     Timetable of the user
+     * @param targetGpa     Target cumulative GPA, in hundredths
+     */
+    public static void writeTarget(ReportWriter report, Timetable timetable, int targetGpa) {
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+        LetterGrade[] minimumGrades = scenarios.findMinimumGrades(targetGpa);
+
+        report.append("Current GPA: ").appendGpa(PlanRollup.computeGpaHundredths(scenarios.getWeightedHalfPoints(),
+                scenarios.getGradedCredits())).newLine();
+        report.append("Courses without a grade: ").append(scenarios.getUngradedCount())
+                .append(" (MCs: ").append(scenarios.getUngradedCredits()).append(")").newLine();
+        if (minimumGrades == null) {
+            long highestHalfPoints = scenarios.getWeightedHalfPoints()
+                    + (long) LetterGrade.A.getHalfPoints() * scenarios.getUngradedCredits();
+            int highestGpa = PlanRollup.computeGpaHundredths(highestHalfPoints,
+                    scenarios.getGradedCredits() + scenarios.getUngradedCredits());
+            report.append("A GPA of ").appendGpa(targetGpa).append(" cannot be reached. ")
+                    .append("The highest GPA you can reach is ").appendGpa(highestGpa)
+                    .append(", with A in every course without a grade.").newLine();
+            return;
+        }
 
-        return plan.toString();
+        report.append("To reach a GPA of ").appendGpa(targetGpa).append(", you need at least:").newLine();
+        long halfPoints = scenarios.getWeightedHalfPoints();
+        for (LetterGrade grade : LetterGrade.values()) {
+            boolean isFirst = true;
+            for (int i = 0; i < minimumGrades.length; i++) {
+                if (minimumGrades[i] != grade) {
+                    continue;
+                }
+                report.append(isFirst ? "  " + grade + ": " : ", ").append(scenarios.getUngradedCourseCode(i));
+                halfPoints += (long) grade.getHalfPoints() * scenarios.getUngradedCredit(i);
+                isFirst = false;
+            }
+            if (!isFirst) {
+                report.newLine();
+            }
+        }
+        int gpa = PlanRollup.computeGpaHundredths(halfPoints,
+                scenarios.getGradedCredits() + scenarios.getUngradedCredits());
+        report.append("GPA with these grades: ").appendGpa(gpa).newLine();
     }
 
-    private static Pair<Integer, Double> getMCandGrade(Course course) {
+    /**
+     * Writes the grades of each year of the rollup up to the given year, followed by the GPA of the year
+     */
+    private static void writeYearGrades(ReportWriter report, PlanRollup rollup, int lastYear) {
+        List<PlanRollup.TermRollup> terms = rollup.getTerms();
+        int nextTerm = 0;
+        for (int y = rollup.getFromYear(); y <= lastYear; y++) {
+            report.append("Year ").append(y).append(":").newLine();
+
+            while (nextTerm < terms.size() && terms.get(nextTerm).getYear() == y) {
+                writeTermGrades(report, terms.get(nextTerm));
+                nextTerm++;
+            }
 
-        if (course.getLetterGrade() == null) {
-            return new Pair<>(0, 0.00);
+            int yearGpa = rollup.getYearGpaHundredths(y);
+            assert yearGpa >= 0 : "The GPA for the given academic year should be non-negative.";
+            report.append("Year ").append(y).append(" GPA: ").appendGpa(yearGpa).newLine().newLine();
         }
+    }
+
+    private static void writeTermGrades(ReportWriter report, PlanRollup.TermRollup termRollup) {
+        List<Course> termCourses = termRollup.getCourses();
+        report.append(termCourses.get(0).getYearAndTerm()).append(":").newLine();
 
-        if (!course.getLetterGrade().equals("S") && !course.getLetterGrade().equals("CS")
-                && !course.getLetterGrade().equals("U") && !course.getLetterGrade().equals("CU")
-                && !(course.getLetterGrade() == null)) {
-            return new Pair<>(course.getModularCredit(), course.getNumberGrade() * course.getModularCredit());
+        for (Course course : termCourses) {
+            report.append("  ").append(course.getGrade()).newLine();
         }
 
-        return new Pair<>(0, 0.00);
+        int termGpa = termRollup.getGpaHundredths();
+        assert termGpa >= 0 : "The GPA of the semester should be non-negative.";
+        report.append("Term GPA: ").appendGpa(termGpa).newLine().separator();
     }
 
-    private static int findMaxYear(Timetable timetable) {
-        int maxYear = 0;
-        for (ArrayList<Course> termCourses : timetable.courses) {
-            for (Course course : termCourses) {
-                if (course.getYear() > maxYear) {
-                    maxYear = course.getYear();
-                }
-            }
-        }
-        return maxYear;
+    private static void writeTotalGpa(ReportWriter report, PlanRollup rollup) {
+        int totalGpa = rollup.getTotalGpaHundredths();
+        assert totalGpa >= 0 && totalGpa <= 500 : "Cumulative GPA is out of bounds.";
+        report.append("Total GPA: ").appendGpa(totalGpa).newLine().newLine();
     }
 }
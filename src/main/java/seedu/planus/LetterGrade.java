@@ -0,0 +1,103 @@
+package seedu.planus;
+
+/**
+ * Represents the letter grades that a course can be awarded, with their grade points
+ * and whether they are excluded from the GPA (S/U options)
+ */
+public enum LetterGrade {
+    A_PLUS("A+", 10, false),
+    A("A", 10, false),
+    A_MINUS("A-", 9, false),
+    B_PLUS("B+", 8, false),
+    B("B", 7, false),
+    B_MINUS("B-", 6, false),
+    C_PLUS("C+", 5, false),
+    C("C", 4, false),
+    D_PLUS("D+", 3, false),
+    D("D", 2, false),
+    F("F", 0, false),
+    S("S", 0, true),
+    U("U", 0, true),
+    CS("CS", 0, true),
+    CU("CU", 0, true);
+
+    private static final char NO_MODIFIER = '\0';
+
+    private final String text;
+    // Grade points are multiples of 0.5, so they are stored in halves
+    private final int halfPoints;
+    private final boolean isExcludedFromGpa;
+
+    LetterGrade(String text, int halfPoints, boolean isExcludedFromGpa) {
+        this.text = text;
+        this.halfPoints = halfPoints;
+        this.isExcludedFromGpa = isExcludedFromGpa;
+    }
+
+    /**
+     * Returns the letter grade represented by the given text, looked up by its characters
+     *
+     * @param text Grade in letter form, e.g. "A-"
+     * @return The letter grade, or null if the text is not a valid letter grade
+     */
+    public static LetterGrade parse(String text) {
+        if (text == null || text.isEmpty() || text.length() > 2) {
+            return null;
+        }
+        char second = text.length() == 2 ? text.charAt(1) : NO_MODIFIER;
+
+        switch (text.charAt(0)) {
+        case 'A':
+            return withModifier(second, A_PLUS, A, A_MINUS);
+        case 'B':
+            return withModifier(second, B_PLUS, B, B_MINUS);
+        case 'C':
+            if (second == 'S') {
+                return CS;
+            } else if (second == 'U') {
+                return CU;
+            }
+            return withModifier(second, C_PLUS, C, null);
+        case 'D':
+            return withModifier(second, D_PLUS, D, null);
+        case 'F':
+            return second == NO_MODIFIER ? F : null;
+        case 'S':
+            return second == NO_MODIFIER ? S : null;
+        case 'U':
+            return second == NO_MODIFIER ? U : null;
+        default:
+            return null;
+        }
+    }
+
+    public int getHalfPoints() {
+        return halfPoints;
+    }
+
+    public double getNumberGrade() {
+        return halfPoints / 2.0;
+    }
+
+    public boolean isExcludedFromGpa() {
+        return isExcludedFromGpa;
+    }
+
+    private static LetterGrade withModifier(char modifier, LetterGrade plus, LetterGrade plain, LetterGrade minus) {
+        switch (modifier) {
+        case '+':
+            return plus;
+        case NO_MODIFIER:
+            return plain;
+        case '-':
+            return minus;
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
@@ -0,0 +1,45 @@
+package seedu.planus;
+
+/**
+ * Represents the recommended timetable of a major, loaded once and shared read-only by every user.
+ * The timetable itself is never handed out: it is rendered once for display, and copied for init.
+ */
+public class MajorTemplate {
+    private final String major;
+    private final Timetable timetable;
+    private final String plan;
+
+    /**
+     * Constructs the template of a major from its loaded timetable, which must not be changed afterwards.
+     *
+     * @param major Code of the major, e.g. CEG
+     * @param timetable Recommended timetable of the major
+     */
+    MajorTemplate(String major, Timetable timetable) {
+        this.major = major;
+        this.timetable = timetable;
+        this.plan = PlanGetter.getPlan(timetable);
+    }
+
+    public String getMajor() {
+        return major;
+    }
+
+    /**
+     * Returns the recommended timetable of the major, formatted as by {@link PlanGetter#getPlan(Timetable)}
+     *
+     * @return A string with the recommended timetable plan
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    /**
+     * Replaces all courses in the given timetable with copies of the courses of the template
+     *
+     * @param target Timetable of the user
+     */
+    public void copyTo(Timetable target) {
+        target.replaceWith(timetable);
+    }
+}
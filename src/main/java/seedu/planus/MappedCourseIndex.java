@@ -0,0 +1,300 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Represents a course list file mapped read-only into memory, with an index of its courses kept outside the heap.
+ * The index is an open-addressing hash table from course code to the offset of the line of the course in the file.
+ * The name and MCs of a course are only decoded from the file when the course is found,
+ * so the heap used by the index does not grow with the number of courses.
+ * Course codes are compared trimmed and ignoring the case of ASCII letters. Lines that cannot be parsed are skipped,
+ * and when a course code is listed more than once, its first line is used.
+ */
+public class MappedCourseIndex {
+    private static final Logger logger = Logger.getLogger("myLogger");
+    private static final int MAX_INT_DIGITS = 9;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int EMPTY_SLOT = 0;
+
+    private final MappedByteBuffer file;
+    // Slots of the hash table, each holding 1 + the offset of a line in the file, or EMPTY_SLOT
+    private final IntBuffer slots;
+    private final int mask;
+    private int size;
+
+    private MappedCourseIndex(MappedByteBuffer file, int capacity) {
+        this.file = file;
+        this.slots = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Maps the course list file into memory and indexes the courses in it.
+     * The file should not be changed while it is mapped, except by appending lines, which are not indexed.
+     *
+     * @param filePath Path of the course list file
+     * @return The index of the courses in the file
+     * @throws IOException When the file cannot be read or is too large to be mapped
+     */
+    public static MappedCourseIndex map(Path filePath) throws IOException {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Course list file is too large to be mapped: " + filePath);
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        long lineCount = 0;
+        for (int lineStart = 0; lineStart < file.limit(); lineStart = nextLineStart(file, lineStart)) {
+            lineCount++;
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * lineCount) {
+            if (capacity == MAX_CAPACITY) {
+                throw new IOException("Course list file has too many lines to be indexed: " + filePath);
+            }
+            capacity <<= 1;
+        }
+
+        MappedCourseIndex index = new MappedCourseIndex(file, capacity);
+        int lineNumber = 0;
+        for (int lineStart = 0; lineStart < file.limit(); lineStart = nextLineStart(file, lineStart)) {
+            lineNumber++;
+            if (index.isCourseLine(lineStart)) {
+                index.add(lineStart);
+            } else {
+                logger.log(Level.WARNING, "Skipping malformed course list line {0}", lineNumber);
+            }
+        }
+        logger.log(Level.INFO, "Mapped {0} courses of the course list", index.size());
+        return index;
+    }
+
+    /**
+     * Finds the course with the given course code.
+     *
+     * @param courseCode Code of the course, in any letter case
+     * @return The catalogue entry of the course, decoded from the file, or null if the course is not in the file
+     */
+    public CourseCatalog.Entry find(String courseCode) {
+        byte[] code = CourseCatalog.normalize(courseCode).getBytes(StandardCharsets.UTF_8);
+        for (int slot = hash(code) & mask; slots.get(slot) != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            int lineStart = slots.get(slot) - 1;
+            if (hasCode(lineStart, code)) {
+                return decode(lineStart);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds all courses whose course code starts with the given prefix, by scanning the whole file.
+     *
+     * @param prefix Normalized prefix of the course codes
+     * @return The catalogue entries of all matching courses, in the order of the file
+     */
+    public List<CourseCatalog.Entry> findByPrefix(String prefix) {
+        byte[] prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+        List<CourseCatalog.Entry> matches = new ArrayList<>();
+        for (int lineStart = 0; lineStart < file.limit(); lineStart = nextLineStart(file, lineStart)) {
+            if (hasCodePrefix(lineStart, prefixBytes) && isCourseLine(lineStart) && isIndexed(lineStart)) {
+                matches.add(decode(lineStart));
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void add(int lineStart) {
+        byte[] code = readCode(lineStart);
+        int slot = hash(code) & mask;
+        for (; slots.get(slot) != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            if (hasCode(slots.get(slot) - 1, code)) {
+                return;
+            }
+        }
+        slots.put(slot, lineStart + 1);
+        size++;
+    }
+
+    private boolean isIndexed(int lineStart) {
+        byte[] code = readCode(lineStart);
+        for (int slot = hash(code) & mask; slots.get(slot) != EMPTY_SLOT; slot = (slot + 1) & mask) {
+            if (slots.get(slot) - 1 == lineStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the line has a course code, a course name and a valid number of MCs, as CourseCatalog.load needs
+     */
+    private boolean isCourseLine(int lineStart) {
+        int lineEnd = lineEnd(lineStart);
+        int codeEnd = fieldEnd(lineStart, lineEnd);
+        if (codeEnd == lineEnd) {
+            return false;
+        }
+        int nameEnd = fieldEnd(codeEnd + 1, lineEnd);
+        if (nameEnd == lineEnd) {
+            return false;
+        }
+        int creditEnd = fieldEnd(nameEnd + 1, lineEnd);
+        if (creditEnd == nameEnd + 1 || creditEnd - nameEnd - 1 > MAX_INT_DIGITS) {
+            return false;
+        }
+        for (int i = nameEnd + 1; i < creditEnd; i++) {
+            if (file.get(i) < '0' || file.get(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CourseCatalog.Entry decode(int lineStart) {
+        int lineEnd = lineEnd(lineStart);
+        int codeEnd = fieldEnd(lineStart, lineEnd);
+        int nameEnd = fieldEnd(codeEnd + 1, lineEnd);
+        int creditEnd = fieldEnd(nameEnd + 1, lineEnd);
+
+        int modularCredit = 0;
+        for (int i = nameEnd + 1; i < creditEnd; i++) {
+            modularCredit = modularCredit * 10 + file.get(i) - '0';
+        }
+        return new CourseCatalog.Entry(CourseCatalog.normalize(readString(lineStart, codeEnd)),
+                readString(codeEnd + 1, nameEnd), modularCredit);
+    }
+
+    /**
+     * Reads the trimmed and upper-cased course code of a line
+     */
+    private byte[] readCode(int lineStart) {
+        int codeEnd = fieldEnd(lineStart, lineEnd(lineStart));
+        int start = codeStart(lineStart, codeEnd);
+        int end = codeEnd;
+        while (end > start && isBlank(file.get(end - 1))) {
+            end--;
+        }
+
+        byte[] code = new byte[end - start];
+        for (int i = 0; i < code.length; i++) {
+            code[i] = toUpperCase(file.get(start + i));
+        }
+        return code;
+    }
+
+    private boolean hasCode(int lineStart, byte[] code) {
+        int codeEnd = fieldEnd(lineStart, lineEnd(lineStart));
+        int start = codeStart(lineStart, codeEnd);
+        if (!hasBytes(start, codeEnd, code)) {
+            return false;
+        }
+        for (int i = start + code.length; i < codeEnd; i++) {
+            if (!isBlank(file.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasCodePrefix(int lineStart, byte[] prefix) {
+        int codeEnd = fieldEnd(lineStart, lineEnd(lineStart));
+        return hasBytes(codeStart(lineStart, codeEnd), codeEnd, prefix);
+    }
+
+    /**
+     * Returns whether the bytes from start, but not beyond end, begin with the given bytes, ignoring letter case
+     */
+    private boolean hasBytes(int start, int end, byte[] bytes) {
+        if (end - start < bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (toUpperCase(file.get(start + i)) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int codeStart(int lineStart, int codeEnd) {
+        int start = lineStart;
+        while (start < codeEnd && isBlank(file.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private String readString(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        file.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the index of the comma that ends the field starting at the given index, or the line end if there is none
+     */
+    private int fieldEnd(int fieldStart, int lineEnd) {
+        int i = fieldStart;
+        while (i < lineEnd && file.get(i) != ',') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the index just after the last character of the line, leaving out the line separator
+     */
+    private int lineEnd(int lineStart) {
+        int end = nextLineStart(file, lineStart);
+        if (end > lineStart && file.get(end - 1) == '\n') {
+            end--;
+        }
+        if (end > lineStart && file.get(end - 1) == '\r') {
+            end--;
+        }
+        return end;
+    }
+
+    private static int nextLineStart(MappedByteBuffer file, int lineStart) {
+        int i = lineStart;
+        while (i < file.limit() && file.get(i) != '\n') {
+            i++;
+        }
+        return Math.min(i + 1, file.limit());
+    }
+
+    private static int hash(byte[] code) {
+        int h = 0;
+        for (byte b : code) {
+            h = 31 * h + b;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean isBlank(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+
+    private static byte toUpperCase(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - 'a' + 'A') : b;
+    }
+}
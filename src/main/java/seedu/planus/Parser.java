@@ -1,5 +1,11 @@
 package seedu.planus;
 
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -9,6 +15,30 @@ import java.util.logging.Level;
  */
 public class Parser {
     private static final Logger logger = Logger.getLogger("myLogger");
+    private static final String GPA_PREFIX = "gpa/";
+    // Year, term or modular credits of a course to import that are not given
+    private static final int NOT_GIVEN = Integer.MIN_VALUE;
+    private static final CommandRegistry COMMANDS = new CommandRegistry()
+            .register("init", Parser::initMajor)
+            .register("add", "course", Parser::addCourse)
+            .register("add", "grade", Parser::addGrade)
+            .setInvalidSubCommandMessage("add", Ui.INVALID_ADD)
+            .register("rm", "course", Parser::removeCourse)
+            .register("rm", "grade", Parser::removeGrade)
+            .setInvalidSubCommandMessage("rm", Ui.INVALID_REMOVE)
+            .register("import", Parser::importCourses)
+            .register("move", Parser::moveCourse)
+            .register("change", "grade", Parser::changeGrade)
+            .register("change", "timetable", Parser::changeTimetable)
+            .setInvalidSubCommandMessage("change", Ui.INVALID_CHANGE)
+            .register("check", Parser::checkGrades)
+            .register("whatif", Parser::checkWhatIf)
+            .register("target", "gpa", Parser::checkTargetGpa)
+            .setInvalidSubCommandMessage("target", Ui.INVALID_TARGET_GPA)
+            .register("view", Parser::viewPlan)
+            .register("display", Parser::displayMajor)
+            .register("help", Parser::printHelp)
+            .register("bye", Parser::exit);
 
 
     /**
@@ -21,349 +51,543 @@ public class Parser {
         assert !line.isEmpty() : "Command line input should not be empty";
         assert timetable != null : "Timetable object should not be null";
         logger.log(Level.INFO, "Processing command: {0}", line);
-        String[] words = line.split(" ");
-        String[] yearAndTerm;
+        CommandArguments words = CommandArguments.parse(line);
+        Command command = COMMANDS.find(words);
+        if (command == null) {
+            logger.log(Level.WARNING, "Invalid command format: {0}", line);
+            throw new Exception(Ui.INVALID_COMMAND);
+        }
+        return command.execute(words, timetable);
+    }
+
+    private static boolean initMajor(CommandArguments words, Timetable timetable) throws Exception {
+        try {
+            Storage.getMajorTemplate(words.get(1)).copyTo(timetable);
+            Storage.writeToFile(timetable);
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            throw new Exception(Ui.MISSING_MAJOR);
+        }
+        return false;
+    }
+
+    //@@author iscyng
+    private static boolean addCourse(CommandArguments words, Timetable timetable) throws Exception {
+        Course newCourse;
+        String courseCode;
         int year;
         int term;
-        int mc = 4;
+        int mc;
+        // y/, t/ and m/ are only looked for after the course code
+        int yearIndex = words.getYearIndex() >= 3 ? words.getYearIndex() : -1;
+        int termIndex = words.getTermIndex() >= 3 ? words.getTermIndex() : -1;
+        int mcIndex = words.getModularCreditIndex() >= 3 ? words.getModularCreditIndex() : -1;
+        try {
+            courseCode = words.get(2).trim().toUpperCase();
+            mc = 4;
+            // parse mc if /m specified
+            if (mcIndex != -1) {
+                mc = Integer.parseInt(words.getValue(mcIndex, CommandArguments.MODULAR_CREDIT_PREFIX).trim());
+            }
+            if (mc < 0 || mc > 30) {
+                logger.log(Level.WARNING, "Modular Credit provided is not from 0 to 30");
+                throw new Exception("Modular Credit provided is not from 0 to 30");
+            }
+            year = Integer.parseInt(words.getValue(yearIndex, CommandArguments.YEAR_PREFIX).trim());
+            term = Integer.parseInt(words.getValue(termIndex, CommandArguments.TERM_PREFIX).trim());
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            throw new Exception(Ui.INVALID_ADD_COURSE);
+        } catch (NumberFormatException ex) {
+            throw new Exception("Please provide a valid year (1-6), term (1-4) " +
+                    "and (optional)modular credits (0-30) to add course");
+        }
+
+        if (courseCode.contains(",")) {
+            throw new Exception(Ui.COMMA_IN_COURSE_CODE);
+        }
+
+        String courseNameAndMC = Storage.searchCourse(courseCode, mc);
+        String courseName = courseNameAndMC.substring(0, courseNameAndMC.indexOf(","));
+        if (mcIndex == -1) {
+            mc = Integer.parseInt(courseNameAndMC.substring(courseNameAndMC.indexOf(",") + 1).trim());
+        }
+        try {
+            newCourse = new Course(courseCode, courseName, mc, year, term);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+
+        try {
+            logger.log(Level.INFO, "Adding course to timetable");
+            if (timetable.addCourse(newCourse)) {
+                Ui.printCourseAlreadyAdded();
+            } else {
+                Ui.printCourseAdded(courseCode);
+            }
+            Storage.writeToFile(timetable);
+        } catch (Exception e) {
+            throw new Exception(e.getMessage());
+        }
+        return false;
+    }
 
-        String commandWord;
+    //@@author ZhangWenyue3325
+    private static boolean addGrade(CommandArguments words, Timetable timetable) throws Exception {
+        boolean isAdded;
         try {
-            commandWord = words[0].toLowerCase();
+            logger.log(Level.INFO, "Adding grade to course");
+            String courseCode = words.get(2).toUpperCase();
+            String grade = words.get(3).toUpperCase(); // change grade to uppercase
+            isAdded = timetable.addGrade(courseCode, grade);
+            Storage.writeToFile(timetable);
         } catch (IndexOutOfBoundsException | NullPointerException e) {
-            logger.log(Level.WARNING, "Invalid command format: {0}", line);
-            throw new Exception(Ui.INVALID_COMMAND);
+            throw new Exception(Ui.INVALID_ADD_GRADE);
         }
-        switch(commandWord) {
-        case "init":
-            try {
-                Timetable newTimetable = Storage.loadTimetable(words[1]);
-                Storage.writeToFile(newTimetable);
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                throw new Exception(Ui.MISSING_MAJOR);
+        if (isAdded) {
+            Ui.printSuccessToAddGrade(words.get(2).toUpperCase());
+        }
+        return false;
+    }
+
+    private static boolean importCourses(CommandArguments words, Timetable timetable) throws Exception {
+        // Code of each course to import, and its year, term and modular credits at the same index
+        List<String> courseCodes = new ArrayList<>();
+        List<int[]> yearTermAndCredits = new ArrayList<>();
+        if (words.size() == 2) {
+            readImportFile(words.get(1), courseCodes, yearTermAndCredits);
+        } else {
+            parseImportList(words, courseCodes, yearTermAndCredits);
+        }
+        if (courseCodes.isEmpty()) {
+            throw new Exception(Ui.INVALID_IMPORT);
+        }
+
+        List<CourseCatalog.Entry> entries = Storage.searchCourses(courseCodes);
+        List<Course> newCourses = new ArrayList<>(courseCodes.size());
+        List<String> unknownCourseCodes = new ArrayList<>();
+        for (int i = 0; i < courseCodes.size(); i++) {
+            CourseCatalog.Entry entry = entries.get(i);
+            if (entry == null) {
+                unknownCourseCodes.add(courseCodes.get(i));
+                continue;
             }
-            return false;
-        case "add":
-            //@@author iscyng
-            String targetAdded;
+            int[] values = yearTermAndCredits.get(i);
+            int mc = values[2] == NOT_GIVEN ? entry.getModularCredit() : values[2];
             try {
-                targetAdded = words[1];
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                throw new Exception(Ui.INVALID_COMMAND);
+                newCourses.add(new Course(courseCodes.get(i), entry.getCourseName(), mc, values[0], values[1]));
+            } catch (Exception e) {
+                throw new Exception(courseCodes.get(i) + ": " + e.getMessage());
             }
-            if (targetAdded.equalsIgnoreCase("course")) {
-                Course newCourse;
-                String courseCode;
-                int yearIndex = -1;
-                int termIndex = -1;
-                int mcIndex = -1;
-                try {
-                    courseCode = words[2].trim().toUpperCase();
-                    mc = 4;
-                    for (int i = 3; i < words.length; i++) {
-                        if (words[i].startsWith("y/")) {
-                            yearIndex = i;
-                        } else if (words[i].startsWith("t/")) {
-                            termIndex = i;
-                        } else if (words[i].startsWith("m/")) {
-                            mcIndex = i;
-                        }
-                    }
-                    // parse mc if /m specified
-                    if (mcIndex != -1) {
-                        mc = Integer.parseInt(words[mcIndex].substring("m/".length()).trim());
-                    }
-                    if (mc < 0 || mc > 30) {
-                        logger.log(Level.WARNING, "Modular Credit provided is not from 0 to 30");
-                        throw new Exception("Modular Credit provided is not from 0 to 30");
-                    }
-                    year = Integer.parseInt(words[yearIndex].substring("y/".length()).trim());
-                    term = Integer.parseInt(words[termIndex].substring("t/".length()).trim());
-                } catch (IndexOutOfBoundsException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_ADD_COURSE);
-                } catch (NumberFormatException ex) {
-                    throw new Exception("Please provide a valid year (1-6), term (1-4) " +
-                            "and (optional)modular credits (0-30) to add course");
-                }
+        }
+
+        logger.log(Level.INFO, "Importing courses to timetable");
+        List<Course> skippedCourses = timetable.addAll(newCourses);
+        if (skippedCourses.size() < newCourses.size()) {
+            Storage.writeToFile(timetable);
+        }
+        Ui.printCoursesImported(newCourses.size() - skippedCourses.size());
+        if (!skippedCourses.isEmpty()) {
+            List<String> skippedCourseCodes = new ArrayList<>(skippedCourses.size());
+            for (Course course : skippedCourses) {
+                skippedCourseCodes.add(course.getCourseCode());
+            }
+            Ui.printCoursesAlreadyAdded(skippedCourseCodes);
+        }
+        if (!unknownCourseCodes.isEmpty()) {
+            Ui.printCoursesNotExist(unknownCourseCodes);
+        }
+        return false;
+    }
 
+    /**
+     * Parses the courses to import from the command line, e.g. "import CS1010 y/1 t/1 CS2040C y/1 t/2 m/4"
+     *
+     * @param words Words of the command line
+     * @param courseCodes Course codes, to which the code of each course is added
+     * @param yearTermAndCredits Years, terms and modular credits, to which those of each course are added
+     * @throws Exception When a course has no year or term, or they are not numbers
+     */
+    private static void parseImportList(CommandArguments words, List<String> courseCodes,
+            List<int[]> yearTermAndCredits) throws Exception {
+        int[] values = null;
+        for (int i = 1; i < words.size(); i++) {
+            if (words.get(i).isEmpty()) {
+                continue;
+            }
+            int valueIndex;
+            String prefix;
+            if (words.startsWith(i, CommandArguments.YEAR_PREFIX)) {
+                valueIndex = 0;
+                prefix = CommandArguments.YEAR_PREFIX;
+            } else if (words.startsWith(i, CommandArguments.TERM_PREFIX)) {
+                valueIndex = 1;
+                prefix = CommandArguments.TERM_PREFIX;
+            } else if (words.startsWith(i, CommandArguments.MODULAR_CREDIT_PREFIX)) {
+                valueIndex = 2;
+                prefix = CommandArguments.MODULAR_CREDIT_PREFIX;
+            } else {
+                String courseCode = words.get(i).trim().toUpperCase();
                 if (courseCode.contains(",")) {
                     throw new Exception(Ui.COMMA_IN_COURSE_CODE);
                 }
+                values = new int[] {NOT_GIVEN, NOT_GIVEN, NOT_GIVEN};
+                courseCodes.add(courseCode);
+                yearTermAndCredits.add(values);
+                continue;
+            }
 
-                String courseNameAndMC = Storage.searchCourse(courseCode, mc);
-                String courseName = courseNameAndMC.substring(0, courseNameAndMC.indexOf(","));
-                if (mcIndex == -1) {
-                    mc = Integer.parseInt(courseNameAndMC.substring(courseNameAndMC.indexOf(",") + 1).trim());
-                }
-                try {
-                    newCourse = new Course(courseCode, courseName, mc, year, term);
-                } catch (Exception e) {
-                    throw new Exception(e.getMessage());
-                }
+            if (values == null) {
+                throw new Exception(Ui.INVALID_IMPORT);
+            }
+            try {
+                values[valueIndex] = Integer.parseInt(words.getValue(i, prefix).trim());
+            } catch (NumberFormatException e) {
+                throw new Exception("Please provide a valid year (1-6), term (1-4) " +
+                        "and (optional)modular credits (0-30) to import " + courseCodes.get(courseCodes.size() - 1));
+            }
+        }
+        for (int[] yearTermAndCredit : yearTermAndCredits) {
+            if (yearTermAndCredit[0] == NOT_GIVEN || yearTermAndCredit[1] == NOT_GIVEN) {
+                throw new Exception(Ui.INVALID_IMPORT);
+            }
+        }
+    }
 
-                try {
-                    logger.log(Level.INFO, "Adding course to timetable");
-                    if (timetable.addCourse(newCourse)) {
-                        Ui.printCourseAlreadyAdded();
-                    } else {
-                        Ui.printCourseAdded(courseCode);
-                    }
-                    Storage.writeToFile(timetable);
-                } catch (Exception e) {
-                    throw new Exception(e.getMessage());
+    /**
+     * Reads the courses to import from a file in the data folder, with a line of
+     * "course code,year,term" or "course code,year,term,modular credits" for each course
+     *
+     * @param fileName Name of the file
+     * @param courseCodes Course codes, to which the code of each course is added
+     * @param yearTermAndCredits Years, terms and modular credits, to which those of each course are added
+     * @throws Exception When the file cannot be read, or a line of it cannot be parsed
+     */
+    private static void readImportFile(String fileName, List<String> courseCodes,
+            List<int[]> yearTermAndCredits) throws Exception {
+        Path filePath = Storage.getUserFilePath(fileName);
+        try (CsvReader reader = new CsvReader(new FileReader(filePath.toFile()))) {
+            while (reader.readLine()) {
+                if (reader.getFieldCount() == 1 && reader.getField(0).isBlank()) {
+                    continue;
                 }
-            } else if (targetAdded.equalsIgnoreCase("grade")) {
-                //@@author ZhangWenyue3325
-                boolean isAdded;
                 try {
-                    logger.log(Level.INFO, "Adding grade to course");
-                    String courseCode = words[2].toUpperCase();
-                    String grade = words[3].toUpperCase(); // change grade to uppercase
-                    isAdded = timetable.addGrade(courseCode, grade);
-                    Storage.writeToFile(timetable);
-                } catch (IndexOutOfBoundsException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_ADD_GRADE);
-                }
-                if (isAdded) {
-                    Ui.printSuccessToAddGrade(words[2].toUpperCase());
+                    int mc = reader.getFieldCount() > 3 ? reader.getIntField(3) : NOT_GIVEN;
+                    int[] values = {reader.getIntField(1), reader.getIntField(2), mc};
+                    courseCodes.add(CourseCatalog.normalize(reader.getField(0)));
+                    yearTermAndCredits.add(values);
+                } catch (IndexOutOfBoundsException | NumberFormatException e) {
+                    logger.log(Level.WARNING, "Malformed line {0} of file to import", reader.getLineNumber());
+                    throw new Exception("Please provide [course code],[year],[term],[modular credit] " +
+                            "on line " + reader.getLineNumber() + " of " + fileName);
                 }
-            } else {
-                throw new Exception(Ui.INVALID_ADD);
             }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed reading file to import: {0}", fileName);
+            throw new Exception("Failed reading courses to import from " + fileName);
+        }
+    }
+
+    //@@author iscyng
+    private static boolean removeCourse(CommandArguments words, Timetable timetable) throws Exception {
+        boolean isSuccess;
+        try {
+            logger.log(Level.INFO, "Removing course from timetable");
+            String courseCode = words.get(2).toUpperCase();
+            isSuccess = timetable.removeCourse(courseCode);
+            Storage.writeToFile(timetable);
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            throw new Exception(Ui.INVALID_REMOVE_COURSE);
+        }
+        if (isSuccess) {
+            Ui.printCourseRemoved(words.get(2).toUpperCase());
+        } else {
+            Ui.printCourseNotFound();
+        }
+        return false;
+    }
+
+    private static boolean removeGrade(CommandArguments words, Timetable timetable) throws Exception {
+        boolean isSuccess;
+        try {
+            logger.log(Level.INFO, "Removing grade from course");
+            String courseCode = words.get(2).toUpperCase();
+            isSuccess = timetable.removeGrade(courseCode);
+            Storage.writeToFile(timetable);
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            throw new Exception(Ui.INVALID_REMOVE_GRADE);
+        }
+        if (isSuccess) {
+            Ui.printSuccessToRemoveGrade(words.get(2).toUpperCase());
+        } else {
+            Ui.printFailedToRemoveGrade();
+        }
+        return false;
+    }
+
+    //@@author ZhouJunmin
+    private static boolean moveCourse(CommandArguments words, Timetable timetable) throws Exception {
+        int year;
+        int term;
+        if (words.size() < 5 || !words.get(0).equals("move") || !words.get(1).equalsIgnoreCase("course")) {
+            logger.log(Level.WARNING, "Invalid command format: move course");
+            throw new Exception(Ui.INVALID_MOVE_COURSE);
+        }
+        if (!words.startsWith(3, CommandArguments.YEAR_PREFIX) || !words.startsWith(4, CommandArguments.TERM_PREFIX)) {
+            logger.log(Level.WARNING, "Invalid command format: move course");
+            throw new Exception(Ui.INVALID_MOVE_COURSE);
+        }
+        try {
+            year = Integer.parseInt(words.getValue(3, CommandArguments.YEAR_PREFIX).trim());
+            term = Integer.parseInt(words.getValue(4, CommandArguments.TERM_PREFIX).trim());
+        }  catch (NumberFormatException e) {
+            throw new Exception("Please provide a valid year (1-6) and term (1-4) to move course");
+        }
+        logger.log(Level.INFO, "Moving course in timetable");
+        if (!timetable.moveCourse(words.get(2).toUpperCase(), year, term)) {
+            Ui.printCourseNotFound();
             return false;
-        case "rm":
-            String targetRemoved;
+        }
+        Storage.writeToFile(timetable);
+        logger.log(Level.INFO, "Moving course success");
+        Ui.printCourseMoved(words.get(2).toUpperCase());
+        return false;
+    }
+
+    //@@author cirelesna
+    private static boolean changeGrade(CommandArguments words, Timetable timetable) throws Exception {
+        boolean isChanged = false;
+        Grade tempGrade = new Grade(words.get(3).toUpperCase());
+        if (tempGrade.getLetterGrade() != null) {
             try {
-                targetRemoved = words[1];
+                logger.log(Level.INFO, "Changing grade from timetable");
+                isChanged = timetable.addGrade(words.get(2).toUpperCase(), words.get(3).toUpperCase());
             } catch (IndexOutOfBoundsException | NullPointerException e) {
-                logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                throw new Exception(Ui.INVALID_COMMAND);
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_CHANGE_GRADE);
             }
-            boolean isSuccess;
-            if (targetRemoved.equalsIgnoreCase("course")) {
-                try {
-                    logger.log(Level.INFO, "Removing course from timetable");
-                    String courseCode = words[2].toUpperCase();
-                    isSuccess = timetable.removeCourse(courseCode);
-                    Storage.writeToFile(timetable);
-                } catch (IndexOutOfBoundsException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_REMOVE_COURSE);
-                }
-                if (isSuccess) {
-                    Ui.printCourseRemoved(words[2].toUpperCase());
-                } else {
-                    Ui.printCourseNotFound();
-                }
-            } else if (targetRemoved.equalsIgnoreCase("grade")) {
-                try {
-                    logger.log(Level.INFO, "Removing grade from course");
-                    String courseCode = words[2].toUpperCase();
-                    isSuccess = timetable.removeGrade(courseCode);
-                    Storage.writeToFile(timetable);
-                } catch (IndexOutOfBoundsException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_REMOVE_GRADE);
-                }
-                if (isSuccess) {
-                    Ui.printSuccessToRemoveGrade(words[2].toUpperCase());
-                } else {
-                    Ui.printFailedToRemoveGrade();
-                }
-            } else {
-                throw new Exception(Ui.INVALID_REMOVE);
+        } else {
+            Ui.printInvalidInputGrade();
+        }
+        if (isChanged) {
+            Storage.writeToFile(timetable);
+            Ui.printGradeChanged(words.get(2).toUpperCase(), words.get(3).toUpperCase());
+        }
+        return false;
+    }
+
+    private static boolean changeTimetable(CommandArguments words, Timetable timetable) throws Exception {
+        try {
+            logger.log(Level.INFO, "Changing timetable");
+            Storage.changeTimetable(Integer.parseInt(words.get(2).trim()));
+            Ui.printTimetableChanged();
+        } catch (IndexOutOfBoundsException | NullPointerException  | NumberFormatException e) {
+            throw new Exception(Ui.INVALID_CHANGE_TIMETABLE);
+        }
+        return false;
+    }
+
+    private static boolean checkGrades(CommandArguments words, Timetable timetable) throws Exception {
+        if (words.size() == 1) {
+            ReportWriter report = new ReportWriter(System.out);
+            GradeChecker.writeGrades(report, timetable);
+            report.newLine().flush();
+        } else if (words.size() == 2) {
+            if (!words.startsWith(1, CommandArguments.YEAR_PREFIX)) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_CHECK_YEAR_GRADE);
             }
-            return false;
-        case "move":
-            //@@author ZhouJunmin
-            if (words.length < 5 || !words[0].equals("move") || !words[1].equalsIgnoreCase("course")) {
-                logger.log(Level.WARNING, "Invalid command format: move course");
-                throw new Exception(Ui.INVALID_MOVE_COURSE);
+            int[] years;
+            try {
+                years = parseYears(words.getValue(1, CommandArguments.YEAR_PREFIX));
+            } catch (NumberFormatException | NullPointerException e) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_CHECK_YEAR_GRADE);
             }
-            if (! words[3].startsWith("y/") || ! words[4].startsWith("t/")) {
-                logger.log(Level.WARNING, "Invalid command format: move course");
-                throw new Exception(Ui.INVALID_MOVE_COURSE);
+            ReportWriter report = new ReportWriter(System.out);
+            GradeChecker.writeGradesOfYears(report, timetable, years[0], years[1]);
+            report.newLine().flush();
+        } else {
+            if (!words.startsWith(1, CommandArguments.YEAR_PREFIX)
+                    || !words.startsWith(2, CommandArguments.TERM_PREFIX)) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_CHECK_TERM_GRADE);
             }
+            int[] yearAndTerm;
             try {
-                year = Integer.parseInt(words[3].substring("y/".length()).trim());
-                term = Integer.parseInt(words[4].substring("t/".length()).trim());
-            }  catch (NumberFormatException e) {
-                throw new Exception("Please provide a valid year (1-6) and term (1-4) to move course");
+                yearAndTerm = parseYearAndTerm(words);
+            } catch (NumberFormatException | NullPointerException e) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_CHECK_TERM_GRADE);
             }
-            Course courseToMove = null;
-            String grade = null;
-            boolean exists;
-            try {
-                logger.log(Level.INFO, "Removing course from timetable");
-                grade = timetable.searchGrade(words[2].toUpperCase());
-                exists = timetable.removeCourse(words[2].toUpperCase());
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                logger.log(Level.WARNING, "Invalid command format: move course");
-                throw new Exception(Ui.INVALID_MOVE_COURSE);
+            ReportWriter report = new ReportWriter(System.out);
+            GradeChecker.writeGrades(report, timetable, yearAndTerm[0], yearAndTerm[1]);
+            report.newLine().flush();
+        }
+        return false;
+    }
+
+    private static boolean checkWhatIf(CommandArguments words, Timetable timetable) throws Exception {
+        EnumSet<LetterGrade> grades = EnumSet.noneOf(LetterGrade.class);
+        int targetGpa = -1;
+        for (int i = 1; i < words.size(); i++) {
+            if (words.startsWith(i, GPA_PREFIX)) {
+                targetGpa = parseGpa(words.getValue(i, GPA_PREFIX));
+                continue;
             }
-            if (!exists) {
-                Ui.printCourseNotFound();
-                return false;
+            LetterGrade grade = LetterGrade.parse(words.get(i).toUpperCase());
+            if (grade == null) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_WHAT_IF);
             }
-            try {
-                logger.log(Level.INFO, "Re-adding course to timetable");
-                String courseNameAndMC = Storage.searchCourse(words[2].toUpperCase(), mc);
-                String courseName = courseNameAndMC.substring(0, courseNameAndMC.indexOf(","));
-                mc = Integer.parseInt(courseNameAndMC.substring(courseNameAndMC.indexOf(",") + 1).trim());
-                courseToMove = new Course(words[2].toUpperCase(), courseName, mc, year, term);
-                timetable.addCourse(courseToMove);
-                if (grade != null) {
-                    timetable.addGrade(words[2].toUpperCase(), grade);
-                }
-                Storage.writeToFile(timetable);
-            } catch (NumberFormatException | NullPointerException | IndexOutOfBoundsException e) {
-                logger.log(Level.WARNING, "Invalid command format: move course");
-                throw new Exception(Ui.INVALID_MOVE_COURSE);
+            grades.add(grade);
+        }
+        if (grades.isEmpty()) {
+            throw new Exception(Ui.INVALID_WHAT_IF);
+        }
+
+        logger.log(Level.INFO, "Evaluating what-if scenarios");
+        ReportWriter report = new ReportWriter(System.out);
+        GradeChecker.writeWhatIf(report, timetable, new ArrayList<>(grades), targetGpa);
+        report.newLine().flush();
+        return false;
+    }
+
+    private static boolean checkTargetGpa(CommandArguments words, Timetable timetable) throws Exception {
+        if (words.size() != 3) {
+            logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+            throw new Exception(Ui.INVALID_TARGET_GPA);
+        }
+        int targetGpa = parseGpa(words.get(2));
+
+        logger.log(Level.INFO, "Finding the grades needed for the target GPA");
+        ReportWriter report = new ReportWriter(System.out);
+        GradeChecker.writeTarget(report, timetable, targetGpa);
+        report.newLine().flush();
+        return false;
+    }
+
+    //@@author Hws2209
+    private static boolean viewPlan(CommandArguments words, Timetable timetable) throws Exception {
+        if (words.size() == 1) {
+            ReportWriter report = new ReportWriter(System.out);
+            PlanGetter.writePlan(report, timetable);
+            report.newLine().flush();
+        } else if (words.size() == 2) {
+            if (!words.startsWith(1, CommandArguments.YEAR_PREFIX)) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_VIEW_YEAR_PLAN);
             }
-            logger.log(Level.INFO, "Moving course success");
-            Ui.printCourseMoved(words[2].toUpperCase());
-            return false;
-        case "change":
-            //@@author cirelesna
-            String targetChanged;
+            int[] years;
             try {
-                targetChanged = words[1];
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                throw new Exception(Ui.INVALID_COMMAND);
+                years = parseYears(words.getValue(1, CommandArguments.YEAR_PREFIX));
+            } catch (NumberFormatException | NullPointerException e) {
+                throw new Exception(Ui.INVALID_VIEW_YEAR_PLAN);
             }
-            if (targetChanged.equalsIgnoreCase("grade")) {
-                boolean isChanged = false;
-                Grade tempGrade = new Grade(words[3].toUpperCase());
-                if (tempGrade.getLetterGrade() != null) {
-                    try {
-                        logger.log(Level.INFO, "Changing grade from timetable");
-                        isChanged = timetable.addGrade(words[2].toUpperCase(), words[3].toUpperCase());
-                    } catch (IndexOutOfBoundsException | NullPointerException e) {
-                        logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                        throw new Exception(Ui.INVALID_CHANGE_GRADE);
-                    }
-                } else {
-                    Ui.printInvalidInputGrade();
-                }
-                if (isChanged) {
-                    Storage.writeToFile(timetable);
-                    Ui.printGradeChanged(words[2].toUpperCase(), words[3].toUpperCase());
-                }
-            } else if (targetChanged.equalsIgnoreCase("timetable")) {
-                try {
-                    logger.log(Level.INFO, "Changing timetable");
-                    Storage.changeTimetable(Integer.parseInt(words[2].trim()));
-                    Ui.printTimetableChanged();
-                } catch (IndexOutOfBoundsException | NullPointerException  | NumberFormatException e) {
-                    throw new Exception(Ui.INVALID_CHANGE_TIMETABLE);
-                }
-            } else {
-                throw new Exception(Ui.INVALID_CHANGE);
+            ReportWriter report = new ReportWriter(System.out);
+            PlanGetter.writePlanOfYears(report, timetable, years[0], years[1]);
+            report.newLine().flush();
+        } else {
+            if (!words.startsWith(1, CommandArguments.YEAR_PREFIX)
+                    || !words.startsWith(2, CommandArguments.TERM_PREFIX)) {
+                logger.log(Level.WARNING, "Invalid command format: {0}", words.getLine());
+                throw new Exception(Ui.INVALID_VIEW_TERM_PLAN);
             }
-            return false;
-        case "check":
-            if (words.length == 1) {
-                System.out.println(GradeChecker.checkGrade(timetable));
-            } else if (words.length == 2) {
-                if (! words[1].startsWith("y/")) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_CHECK_YEAR_GRADE);
-                }
-                try {
-                    year = Integer.parseInt(words[1].substring("y/".length()));
-                    if (year < 1 || year > 6) {
-                        logger.log(Level.WARNING, "Year provided is not from 1 to 6");
-                        throw new Exception("Year provided is not from 1 to 6");
-                    }
-                } catch (NumberFormatException | NullPointerException e) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_CHECK_YEAR_GRADE);
-                }
-                System.out.println(GradeChecker.checkGrade(timetable, year));
-            } else {
-                if (! words[1].startsWith("y/") || ! words[2].startsWith("t/")) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_CHECK_TERM_GRADE);
-                }
-                try {
-                    year = Integer.parseInt(words[1].substring("y/".length()));
-                    term = Integer.parseInt(words[2].substring("t/".length()));
-                    if (term < 1 || term > 4) {
-                        logger.log(Level.WARNING,"Term provided is not from 1 to 4");
-                        throw new Exception("Term provided is not from 1 to 4");
-                    }
-                    if (year < 1 || year > 6) {
-                        logger.log(Level.WARNING, "Year provided is not from 1 to 6");
-                        throw new Exception("Year provided is not from 1 to 6");
-                    }
-                } catch (NumberFormatException | NullPointerException e) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_CHECK_TERM_GRADE);
-                }
-                System.out.println(GradeChecker.checkGrade(timetable, year, term));
-            }
-            return false;
-        case "view":
-            //@@author Hws2209
-            if (words.length == 1) {
-                System.out.println(PlanGetter.getPlan(timetable));
-            } else if (words.length == 2) {
-                if (! words[1].startsWith("y/")) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_VIEW_YEAR_PLAN);
-                }
-                try {
-                    year = Integer.parseInt(words[1].substring("y/".length()));
-                    if (year < 1 || year > 6) {
-                        logger.log(Level.WARNING, "Year provided is not from 1 to 6");
-                        throw new Exception("Year provided is not from 1 to 6");
-                    }
-                } catch (NumberFormatException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_VIEW_YEAR_PLAN);
-                }
-                System.out.println(PlanGetter.getPlan(timetable, year));
-            } else {
-                if (! words[1].startsWith("y/") || ! words[2].startsWith("t/")) {
-                    logger.log(Level.WARNING, "Invalid command format: {0}", line);
-                    throw new Exception(Ui.INVALID_VIEW_TERM_PLAN);
-                }
-                try {
-                    year = Integer.parseInt(words[1].substring("y/".length()));
-                    term = Integer.parseInt(words[2].substring("t/".length()));
-                    if (term < 1 || term > 4) {
-                        logger.log(Level.WARNING,"Term provided is not from 1 to 4");
-                        throw new Exception("Term provided is not from 1 to 4");
-                    }
-                    if (year < 1 || year > 6) {
-                        logger.log(Level.WARNING, "Year provided is not from 1 to 6");
-                        throw new Exception("Year provided is not from 1 to 6");
-                    }
-                } catch (NumberFormatException | NullPointerException e) {
-                    throw new Exception(Ui.INVALID_VIEW_TERM_PLAN);
-                }
-                System.out.println(PlanGetter.getPlan(timetable, year, term));
-            }
-            return false;
-        case "display":
+            int[] yearAndTerm;
             try {
-                Timetable recommendedTimetable = Storage.loadTimetable(words[1]);
-                System.out.println(PlanGetter.getPlan(recommendedTimetable));
-            } catch (IndexOutOfBoundsException | NullPointerException e) {
-                throw new Exception(Ui.MISSING_MAJOR_DISPLAY);
+                yearAndTerm = parseYearAndTerm(words);
+            } catch (NumberFormatException | NullPointerException e) {
+                throw new Exception(Ui.INVALID_VIEW_TERM_PLAN);
             }
-            return false;
-        case "help":
-            //@@author cirelesna
-            Ui.printHelp();
-            return false;
-        case "bye":
-            Storage.writeToFile(timetable);
-            logger.log(Level.INFO, "Exiting PlaNus");
-            return true;
-        default:
-            logger.log(Level.WARNING, "Invalid command format: {0}", line);
-            throw new Exception(Ui.INVALID_COMMAND);
+            ReportWriter report = new ReportWriter(System.out);
+            PlanGetter.writePlan(report, timetable, yearAndTerm[0], yearAndTerm[1]);
+            report.newLine().flush();
         }
+        return false;
     }
 
+    private static boolean displayMajor(CommandArguments words, Timetable timetable) throws Exception {
+        try {
+            System.out.println(Storage.getMajorTemplate(words.get(1)).getPlan());
+        } catch (IndexOutOfBoundsException | NullPointerException e) {
+            throw new Exception(Ui.MISSING_MAJOR_DISPLAY);
+        }
+        return false;
+    }
+
+    //@@author cirelesna
+    private static boolean printHelp(CommandArguments words, Timetable timetable) {
+        Ui.printHelp();
+        return false;
+    }
+
+    private static boolean exit(CommandArguments words, Timetable timetable) {
+        Storage.writeSnapshot(timetable);
+        logger.log(Level.INFO, "Exiting PlaNus");
+        return true;
+    }
+
+    /**
+     * Parses a GPA, e.g. "4.25"
+     *
+     * @param gpa The GPA
+     * @return The GPA in hundredths, rounded half up
+     * @throws Exception When the GPA is not a number from 0 to 5
+     */
+    private static int parseGpa(String gpa) throws Exception {
+        double value;
+        try {
+            value = Double.parseDouble(gpa.trim());
+        } catch (NumberFormatException e) {
+            throw new Exception(Ui.INVALID_GPA);
+        }
+        if (!(value >= 0 && value <= 5)) {
+            logger.log(Level.WARNING, "GPA provided is not from 0 to 5");
+            throw new Exception(Ui.INVALID_GPA);
+        }
+        return (int) Math.round(value * 100);
+    }
+
+    /**
+     * Parses the y/ and t/ words that follow the command word, e.g. "y/1 t/2"
+     *
+     * @param words Words of the command line
+     * @return The year and the term
+     * @throws NumberFormatException When the year or term is not a number
+     * @throws Exception When the year is not from 1 to 6 or the term is not from 1 to 4
+     */
+    private static int[] parseYearAndTerm(CommandArguments words) throws Exception {
+        int year = Integer.parseInt(words.getValue(1, CommandArguments.YEAR_PREFIX));
+        int term = Integer.parseInt(words.getValue(2, CommandArguments.TERM_PREFIX));
+        if (term < 1 || term > 4) {
+            logger.log(Level.WARNING,"Term provided is not from 1 to 4");
+            throw new Exception("Term provided is not from 1 to 4");
+        }
+        if (year < 1 || year > 6) {
+            logger.log(Level.WARNING, "Year provided is not from 1 to 6");
+            throw new Exception("Year provided is not from 1 to 6");
+        }
+        return new int[] {year, term};
+    }
+
+    /**
+     * Parses a year, e.g. "2", or a range of years, e.g. "2-3"
+     *
+     * @param years The year or range of years
+     * @return The first and the last year of the range, which are the same for a single year
+     * @throws NumberFormatException When the years are not in either format, or the range is empty
+     * @throws Exception When a year is not from 1 to 6
+     */
+    private static int[] parseYears(String years) throws Exception {
+        // searching from the second character keeps "-1" a single, negative year
+        int separator = years.indexOf('-', 1);
+        int fromYear = Integer.parseInt(separator == -1 ? years : years.substring(0, separator));
+        int toYear = separator == -1 ? fromYear : Integer.parseInt(years.substring(separator + 1));
+        if (fromYear < 1 || fromYear > 6 || toYear < 1 || toYear > 6) {
+            logger.log(Level.WARNING, "Year provided is not from 1 to 6");
+            throw new Exception("Year provided is not from 1 to 6");
+        }
+        if (fromYear > toYear) {
+            throw new NumberFormatException("The first year of the range is after the last year");
+        }
+        return new int[] {fromYear, toYear};
+    }
 }
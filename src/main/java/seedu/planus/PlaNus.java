@@ -1,6 +1,7 @@
 package seedu.planus;
 
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.logging.FileHandler;
@@ -12,12 +13,14 @@ import java.util.logging.SimpleFormatter;
  * The main class that represents the PlaNus application.
  */
 public class PlaNus {
+    // System property that sets the level of the log, e.g. -Dplanus.log.level=WARNING to leave out INFO messages
+    public static final String LOG_LEVEL_PROPERTY = "planus.log.level";
     private static Logger logger = Logger.getLogger("myLogger");
     private static FileHandler fileTxt;
     private static SimpleFormatter formatterTxt;
 
 
-    private Timetable timetable;
+    private TimetableSession session;
     private boolean isExit;
 
     /**
@@ -28,7 +31,7 @@ public class PlaNus {
     }
 
     /**
-     * Sets up the logger
+     * Sets up the logger, which writes to Logging.txt from a background thread
      */
     public void setUpLogger() {
         Logger rootLogger = Logger.getLogger("");
@@ -37,7 +40,7 @@ public class PlaNus {
             rootLogger.removeHandler(handlers[0]);
         }
 
-        logger.setLevel(Level.INFO);
+        logger.setLevel(getLogLevel());
         try {
             fileTxt = new FileHandler("Logging.txt", true);
         } catch (IOException e) {
@@ -45,7 +48,22 @@ public class PlaNus {
         }
         formatterTxt = new SimpleFormatter();
         fileTxt.setFormatter(formatterTxt);
-        logger.addHandler(fileTxt);
+        logger.addHandler(new AsyncLogHandler(fileTxt, AsyncLogHandler.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Returns the log level set by the planus.log.level system property, or INFO if it is not set or invalid
+     */
+    static Level getLogLevel() {
+        String levelName = System.getProperty(LOG_LEVEL_PROPERTY);
+        if (levelName == null) {
+            return Level.INFO;
+        }
+        try {
+            return Level.parse(levelName.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Level.INFO;
+        }
     }
 
     /**
@@ -54,25 +72,97 @@ public class PlaNus {
     public void run() {
         setUpLogger();
         Ui.printLogo();
-        logger.log(Level.INFO, "Loading user timetable" + Storage.getUserTimetableFileName());
-        timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        runCommands();
+        Ui.printExit();
+    }
 
-        while (!isExit) {
-            String line = Ui.getUserCommand().trim();
-            try {
-                isExit = Parser.parseCommand(line, timetable);
-            } catch (Exception e) {
-                Ui.printErrorMessage(e.getMessage());
+    /**
+     * Reads and executes commands of the user until the user exits.
+     * Throws NoSuchElementException if the input ends before that.
+     */
+    void runCommands() {
+        session = new TimetableSession();
+        session.getTimetable();
+
+        try {
+            while (!isExit) {
+                String line = Ui.getUserCommand().trim();
+                try {
+                    isExit = Parser.parseCommand(line, session.getTimetable());
+                    session.markSynced();
+                } catch (Exception e) {
+                    // a command that failed halfway is undone by reloading the timetable from disk
+                    session.markFailed();
+                    Ui.printErrorMessage(e.getMessage());
+                }
             }
-            logger.log(Level.INFO, "Loading user timetable" + Storage.getUserTimetableFileName());
-            timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        } finally {
+            session.writeBack();
         }
-        Ui.printExit();
     }
+
+    /**
+     * Runs the commands in a script file instead of reading them from the user.
+     *
+     * @param scriptPathName Path of the file containing one command per line
+     * @param flushInterval Number of commands after which the changes to the timetable are saved
+     */
+    public void runBatch(String scriptPathName, int flushInterval) {
+        setUpLogger();
+        new BatchRunner(Paths.get(scriptPathName), flushInterval).run();
+    }
+
+    /**
+     * Serves many users at the same time over TCP connections to the given port, until the process is stopped.
+     *
+     * @param port Port to listen on
+     */
+    public void runServer(int port) {
+        setUpLogger();
+        PlaNusServer server = new PlaNusServer(port);
+        try {
+            server.start();
+            Ui.printServerStarted(server.getPort());
+            server.serve();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "PlaNUS server stopped: {0}", e.getMessage());
+            Ui.printErrorMessage("Failed to run the server on port " + port);
+        }
+    }
+
     /**
      * Main entry-point for the java.planus.PlaNus application.
+     * Runs interactively, on a script with "--batch [file]", optionally followed by "--flush-every [commands]",
+     * or as a server for many users with "--server [port]".
      */
     public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("--server")) {
+            int port;
+            try {
+                port = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                port = -1;
+            }
+            if (port < 0 || port > PlaNusServer.MAX_PORT) {
+                Ui.printErrorMessage("Please provide a valid port number after --server");
+                return;
+            }
+            new PlaNus().runServer(port);
+            return;
+        }
+        if (args.length >= 2 && args[0].equals("--batch")) {
+            int flushInterval = BatchRunner.DEFAULT_FLUSH_INTERVAL;
+            if (args.length >= 4 && args[2].equals("--flush-every")) {
+                try {
+                    flushInterval = Math.max(1, Integer.parseInt(args[3]));
+                } catch (NumberFormatException e) {
+                    Ui.printErrorMessage("Please provide a valid number of commands after --flush-every");
+                    return;
+                }
+            }
+            new PlaNus().runBatch(args[1], flushInterval);
+            return;
+        }
         new PlaNus().run();
     }
 }
@@ -0,0 +1,168 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Serves many users at the same time, one TCP connection per user.
+ * A user first sends their user name, then uses the same commands as in the interactive mode.
+ * Each connection is served on its own thread (a virtual thread when the Java runtime has them), with its own
+ * input, output and storage context, so every user has their own timetables under ./data/users/[user name]/.
+ * The course catalogue and the major templates are shared by all users.
+ */
+public class PlaNusServer {
+    public static final String USERS_FOLDER_PATH = Storage.FOLDER_PATH + "users/";
+    public static final int MAX_PORT = 65535;
+    private static final Logger logger = Logger.getLogger("myLogger");
+    private static final Pattern USER_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private final int port;
+    // Users with an open connection, so that the same timetable files are never used by two connections
+    private final Set<String> connectedUsers = ConcurrentHashMap.newKeySet();
+    private ServerSocket serverSocket;
+    private ExecutorService sessionExecutor;
+    private SessionOutputStream sessionOutput;
+
+    /**
+     * Constructs a server for the given port.
+     *
+     * @param port Port to listen on, from 1 to {@link #MAX_PORT}, or 0 for any free port
+     */
+    public PlaNusServer(int port) {
+        this.port = port;
+    }
+
+    /**
+     * Starts listening for connections, and makes System.out print to the user served by the printing thread.
+     *
+     * @throws IOException When the port cannot be listened on
+     */
+    public void start() throws IOException {
+        serverSocket = new ServerSocket(port);
+        sessionExecutor = newSessionExecutor();
+        if (System.out instanceof SessionPrintStream) {
+            sessionOutput = ((SessionPrintStream) System.out).getSessionOutput();
+        } else {
+            sessionOutput = new SessionOutputStream(System.out);
+            System.setOut(new SessionPrintStream(sessionOutput));
+        }
+        logger.log(Level.INFO, "PlaNUS server listening on port {0}", getPort());
+    }
+
+    /**
+     * Accepts connections and serves each of them on its own thread, until the server is stopped.
+     *
+     * @throws IOException When accepting a connection fails for a reason other than the server being stopped
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            sessionExecutor.execute(() -> serveUser(socket));
+        }
+    }
+
+    /**
+     * Stops accepting connections. Users who are connected are served until they disconnect.
+     *
+     * @throws IOException When the server socket cannot be closed
+     */
+    public void stop() throws IOException {
+        serverSocket.close();
+        sessionExecutor.shutdown();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Returns an executor that runs each task on a new virtual thread, or on a pooled platform thread
+     * when the Java runtime has no virtual threads
+     */
+    static ExecutorService newSessionExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            logger.log(Level.INFO, "Virtual threads are not available, serving users on platform threads");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private void serveUser(Socket socket) {
+        String userName = null;
+        try (socket) {
+            Ui.setInput(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            sessionOutput.setTarget(socket.getOutputStream());
+
+            Ui.printAskUserName();
+            userName = Ui.readLine();
+            if (userName == null || !USER_NAME_PATTERN.matcher(userName.trim()).matches()) {
+                Ui.printInvalidUserName();
+                userName = null;
+                return;
+            }
+            userName = userName.trim();
+            if (!connectedUsers.add(userName)) {
+                Ui.printUserAlreadyConnected(userName);
+                userName = null;
+                return;
+            }
+
+            logger.log(Level.INFO, "User {0} connected", userName);
+            Storage.setContext(new StorageContext(USERS_FOLDER_PATH + userName + "/"));
+            Ui.printLogo();
+            new PlaNus().runCommands();
+            Ui.printExit();
+        } catch (NoSuchElementException e) {
+            logger.log(Level.INFO, "User {0} disconnected", userName);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Connection of user {0} failed: {1}", new Object[] {userName, e.getMessage()});
+        } finally {
+            Storage.flushDeferredWrites();
+            Storage.setContext(null);
+            Ui.setInput(null);
+            sessionOutput.setTarget(null);
+            if (userName != null) {
+                connectedUsers.remove(userName);
+            }
+        }
+    }
+
+    /**
+     * The System.out of the server, which prints to the user served by the printing thread
+     */
+    private static class SessionPrintStream extends PrintStream {
+        private final SessionOutputStream sessionOutput;
+
+        SessionPrintStream(SessionOutputStream sessionOutput) {
+            super(sessionOutput, true, StandardCharsets.UTF_8);
+            this.sessionOutput = sessionOutput;
+        }
+
+        SessionOutputStream getSessionOutput() {
+            return sessionOutput;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package seedu.planus;
 
-import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class PlanGetter {
     private static final Logger logger = Logger.getLogger("myLogger");
+    private static final int MAX_CANDIDATURE_YEAR = 6;
 
     /**
      * Returns a formatted string containing the entire timetable plan of the user
@@ -13,28 +14,7 @@ public class PlanGetter {
      * @return A string with the timetable plan
      */
     public static String getPlan(Timetable timetable) {
-        logger.log(Level.INFO, "Getting the whole timetable plan");
-        StringBuilder plan = new StringBuilder();
-        int totalCredit = 0;
-
-        for (ArrayList<Course> termCourses : timetable.courses) {
-            assert !termCourses.isEmpty(): "Accessing empty term";
-            plan.append(termCourses.get(0).getYearAndTerm()).append(":").append(System.lineSeparator());
-
-            int termCredit = 0;
-            for (Course course : termCourses) {
-                plan.append("  ").append(course.getDetails()).append(System.lineSeparator());
-                termCredit += course.getModularCredit();
-            }
-
-            plan.append("Term MCs: ").append(termCredit).append(System.lineSeparator())
-                    .append("-----------------------------").append(System.lineSeparator());
-            totalCredit += termCredit;
-        }
-
-        plan.append("Total MCs: ").append(totalCredit).append(System.lineSeparator());
-        assert !plan.toString().isEmpty(): "Plan should not be empty";
-        return plan.toString();
+        return ReportWriter.render(report -> writePlan(report, timetable));
     }
 
     /**
@@ -44,36 +24,7 @@ public class PlanGetter {
      * @return A string with the year's timetable plan
      */
     public static String getPlan(Timetable timetable, int year) {
-        logger.log(Level.INFO, "Getting the timetable plan for year " + year);
-        StringBuilder plan = new StringBuilder();
-        int yearCredit = 0;
-
-        for (ArrayList<Course> termCourses : timetable.courses) {
-            if (termCourses.get(0).getYear() < year) {
-                continue;
-            }
-            if (termCourses.get(0).getYear() > year) {
-                break;
-            }
-
-            assert termCourses.get(0).getYear() == year: "Accessing wrong year";
-            assert !termCourses.isEmpty(): "Accessing empty term";
-            plan.append(termCourses.get(0).getYearAndTerm()).append(":").append(System.lineSeparator());
-
-            int termCredit = 0;
-            for (Course course : termCourses) {
-                plan.append("  ").append(course.getDetails()).append(System.lineSeparator());
-                termCredit += course.getModularCredit();
-            }
-
-            plan.append("Term MCs: ").append(termCredit).append(System.lineSeparator())
-                    .append("-----------------------------").append(System.lineSeparator());
-            yearCredit += termCredit;
-        }
-
-        plan.append("Year MCs: ").append(yearCredit).append(System.lineSeparator());
-        assert !plan.toString().isEmpty(): "Plan should not be empty";
-        return plan.toString();
+        return ReportWriter.render(report -> writePlan(report, timetable, year));
     }
 
     /**
@@ -84,39 +35,90 @@ public class PlanGetter {
      * @return A string with the term's timetable plan
      */
     public static String getPlan(Timetable timetable, int year, int term) {
-        logger.log(Level.INFO, "Getting the timetable plan for year " + year + " term " + term);
-        StringBuilder plan = new StringBuilder();
-        int termCredit = 0;
+        return ReportWriter.render(report -> writePlan(report, timetable, year, term));
+    }
 
-        for (ArrayList<Course> termCourses : timetable.courses) {
-            if (termCourses.get(0).getYear() < year) {
-                continue;
-            }
-            if (termCourses.get(0).getYear() > year) {
-                break;
-            }
+    /**
+     * Writes the entire timetable plan of the user, formatted as by {@link #getPlan(Timetable)}
+     *
+     * @param report Writer of the report
+     * @param timetable Timetable of the user
+     */
+    public static void writePlan(ReportWriter report, Timetable timetable) {
+        writePlanOfYears(report, timetable, 1, MAX_CANDIDATURE_YEAR);
+    }
 
-            if (termCourses.get(0).getTerm() < term) {
-                continue;
-            }
-            if (termCourses.get(0).getTerm() > term) {
-                break;
+    /**
+     * Writes the timetable plan for the year specified, formatted as by {@link #getPlan(Timetable, int)}
+     *
+     * @param report Writer of the report
+     * @param timetable Timetable of the user
+     * @param year Year of study for which the user wants to check the plan
+     */
+    public static void writePlan(ReportWriter report, Timetable timetable, int year) {
+        writePlanOfYears(report, timetable, year, year);
+    }
+
+    /**
+     * Writes the timetable plan for the years from fromYear to toYear, followed by the total MCs of the years,
+     * or by the MCs of the year if the range is a single year
+     *
+     * @param report Writer of the report
+     * @param timetable Timetable of the user
+     * @param fromYear First year of study of the range
+     * @param toYear Last year of study of the range
+     */
+    public static void writePlanOfYears(ReportWriter report, Timetable timetable, int fromYear, int toYear) {
+        logger.log(Level.INFO, "Getting the timetable plan for years {0} to {1}", new Object[] {fromYear, toYear});
+        timetable.readLock().lock();
+        try {
+            PlanRollup rollup = PlanRollup.ofYears(timetable, fromYear, toYear);
+            for (PlanRollup.TermRollup termRollup : rollup.getTerms()) {
+                writeTermCourses(report, termRollup);
+                report.append("Term MCs: ").append(termRollup.getCredits()).newLine().separator();
             }
 
-            assert termCourses.get(0).getYear() == year: "Accessing wrong year";
-            assert termCourses.get(0).getTerm() == term: "Accessing wrong term";
-            assert !termCourses.isEmpty(): "Accessing empty term";
-            plan.append(termCourses.get(0).getYearAndTerm()).append(":").append(System.lineSeparator());
+            report.append(fromYear == toYear ? "Year MCs: " : "Total MCs: ").append(rollup.getTotalCredits())
+                    .newLine();
+        } finally {
+            timetable.readLock().unlock();
+        }
+    }
 
-            for (Course course : termCourses) {
-                plan.append("  ").append(course.getDetails()).append(System.lineSeparator());
-                termCredit += course.getModularCredit();
+    /**
+     * Writes the timetable plan for the year and term specified, formatted as by {@link #getPlan(Timetable, int, int)}
+     *
+     * @param report Writer of the report
+     * @param timetable Timetable of the user
+     * @param year Year of study for which the user wants to check the plan
+     * @param term Term for which the user wants to check the plan
+     */
+    public static void writePlan(ReportWriter report, Timetable timetable, int year, int term) {
+        logger.log(Level.INFO, "Getting the timetable plan for year {0} term {1}", new Object[] {year, term});
+        timetable.readLock().lock();
+        try {
+            PlanRollup rollup = PlanRollup.ofTerm(timetable, year, term);
+            for (PlanRollup.TermRollup termRollup : rollup.getTerms()) {
+                writeTermCourses(report, termRollup);
             }
-        }
 
-        plan.append("Term MCs: ").append(termCredit).append(System.lineSeparator());
-        assert !plan.toString().isEmpty(): "Plan should not be empty";
-        return plan.toString();
+            report.append("Term MCs: ").append(rollup.getTotalCredits()).newLine();
+        } finally {
+            timetable.readLock().unlock();
+        }
     }
 
+    /**
+     * Writes the heading and the details of the courses of a term
+     */
+    private static void writeTermCourses(ReportWriter report, PlanRollup.TermRollup termRollup) {
+        List<Course> termCourses = termRollup.getCourses();
+        assert termCourses.get(0).getYear() == termRollup.getYear() : "Accessing wrong year";
+        assert termCourses.get(0).getTerm() == termRollup.getTerm() : "Accessing wrong term";
+        report.append(termCourses.get(0).getYearAndTerm()).append(":").newLine();
+
+        for (Course course : termCourses) {
+            report.append("  ").append(course.getDetails()).newLine();
+        }
+    }
 }
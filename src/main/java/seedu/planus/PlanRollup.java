@@ -0,0 +1,201 @@
+package seedu.planus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the modular credits and GPAs of a range of years and terms of a timetable, rolled up per term,
+ * per year and for the whole range in one pass over the terms of the range.
+ * The plan and grade reports of every range are written from a rollup.
+ */
+public class PlanRollup {
+    private static final int TERM_PER_YEAR = 4;
+    private static final int MAX_CANDIDATURE_YEAR = 6;
+
+    private final int fromYear;
+    private final int toYear;
+    // Terms of the range that have courses, ordered by year and term
+    private final List<TermRollup> terms;
+    // Rollups of each year of the range, at index year - fromYear
+    private final int[] yearCredits;
+    private final int[] yearGradedCredits;
+    private final long[] yearWeightedHalfPoints;
+    private int totalCredits;
+    private int totalGradedCredits;
+    private long totalWeightedHalfPoints;
+    private int maxYear;
+
+    private PlanRollup(int fromYear, int toYear) {
+        this.fromYear = fromYear;
+        this.toYear = toYear;
+        this.terms = new ArrayList<>();
+        this.yearCredits = new int[toYear - fromYear + 1];
+        this.yearGradedCredits = new int[toYear - fromYear + 1];
+        this.yearWeightedHalfPoints = new long[toYear - fromYear + 1];
+    }
+
+    /**
+     * Rolls up the terms of the years from fromYear to toYear.
+     * The courses of the terms are read-only views, so the caller should hold {@link Timetable#readLock()} for as
+     * long as it uses them.
+     *
+     * @param timetable Timetable of the user
+     * @param fromYear First year of the range
+     * @param toYear Last year of the range
+     * @return The rollup of the years
+     */
+    public static PlanRollup ofYears(Timetable timetable, int fromYear, int toYear) {
+        assert fromYear >= 1 && toYear <= MAX_CANDIDATURE_YEAR && fromYear <= toYear : "Invalid range of years";
+        return of(timetable, fromYear, toYear, 1, TERM_PER_YEAR);
+    }
+
+    /**
+     * Rolls up a single term, as {@link #ofYears(Timetable, int, int)} does for years
+     *
+     * @param timetable Timetable of the user
+     * @param year Academic year
+     * @param term Semester
+     * @return The rollup of the term
+     */
+    public static PlanRollup ofTerm(Timetable timetable, int year, int term) {
+        assert year >= 1 && year <= MAX_CANDIDATURE_YEAR : "Year is not from 1 to 6";
+        assert term >= 1 && term <= TERM_PER_YEAR : "Term is not from 1 to 4";
+        return of(timetable, year, year, term, term);
+    }
+
+    private static PlanRollup of(Timetable timetable, int fromYear, int toYear, int fromTerm, int toTerm) {
+        PlanRollup rollup = new PlanRollup(fromYear, toYear);
+        timetable.readLock().lock();
+        try {
+            for (int year = fromYear; year <= toYear; year++) {
+                for (int term = fromTerm; term <= toTerm; term++) {
+                    List<Course> termCourses = timetable.getTermCourses(year, term);
+                    if (!termCourses.isEmpty()) {
+                        rollup.add(new TermRollup(year, term, termCourses, timetable.getTermGradedCredits(year, term),
+                                timetable.getTermWeightedHalfPoints(year, term)));
+                    }
+                }
+            }
+        } finally {
+            timetable.readLock().unlock();
+        }
+        return rollup;
+    }
+
+    private void add(TermRollup termRollup) {
+        terms.add(termRollup);
+        int yearIndex = termRollup.getYear() - fromYear;
+        yearCredits[yearIndex] += termRollup.getCredits();
+        yearGradedCredits[yearIndex] += termRollup.gradedCredits;
+        yearWeightedHalfPoints[yearIndex] += termRollup.weightedHalfPoints;
+        totalCredits += termRollup.getCredits();
+        totalGradedCredits += termRollup.gradedCredits;
+        totalWeightedHalfPoints += termRollup.weightedHalfPoints;
+        maxYear = termRollup.getYear();
+    }
+
+    public int getFromYear() {
+        return fromYear;
+    }
+
+    public int getToYear() {
+        return toYear;
+    }
+
+    /**
+     * Returns the terms of the range that have courses
+     *
+     * @return The rollups of the terms, ordered by year and term
+     */
+    public List<TermRollup> getTerms() {
+        return Collections.unmodifiableList(terms);
+    }
+
+    /**
+     * Returns the last year of the range that has courses
+     *
+     * @return The year, or 0 if the range has no course
+     */
+    public int getMaxYear() {
+        return maxYear;
+    }
+
+    public int getYearCredits(int year) {
+        return yearCredits[year - fromYear];
+    }
+
+    public int getYearGpaHundredths(int year) {
+        return computeGpaHundredths(yearWeightedHalfPoints[year - fromYear], yearGradedCredits[year - fromYear]);
+    }
+
+    public int getTotalCredits() {
+        return totalCredits;
+    }
+
+    public int getTotalGpaHundredths() {
+        return computeGpaHundredths(totalWeightedHalfPoints, totalGradedCredits);
+    }
+
+    /**
+     * Computes a GPA in hundredths with integer arithmetic only, rounding half up as "%.2f" does,
+     * e.g. 3.125 to 313
+     *
+     * @param weightedHalfPoints Grade points weighted by the graded credits, in halves
+     * @param gradedCredits Modular credits counted towards the GPA
+     * @return The GPA multiplied by 100, or 0 if no credit is counted towards the GPA
+     */
+    static int computeGpaHundredths(long weightedHalfPoints, int gradedCredits) {
+        if (gradedCredits == 0) {
+            return 0;
+        }
+        // GPA * 100 = weightedHalfPoints * 100 / (2 * gradedCredits), rounded half up
+        long divisor = 2L * gradedCredits;
+        return (int) ((weightedHalfPoints * 200 + divisor) / (2 * divisor));
+    }
+
+    /**
+     * Represents the courses, modular credits and GPA of a term that has courses
+     */
+    public static class TermRollup {
+        private final int year;
+        private final int term;
+        private final List<Course> courses;
+        private final int credits;
+        private final int gradedCredits;
+        private final long weightedHalfPoints;
+
+        private TermRollup(int year, int term, List<Course> courses, int gradedCredits, long weightedHalfPoints) {
+            this.year = year;
+            this.term = term;
+            this.courses = courses;
+            int termCredits = 0;
+            for (Course course : courses) {
+                termCredits += course.getModularCredit();
+            }
+            this.credits = termCredits;
+            this.gradedCredits = gradedCredits;
+            this.weightedHalfPoints = weightedHalfPoints;
+        }
+
+        public int getYear() {
+            return year;
+        }
+
+        public int getTerm() {
+            return term;
+        }
+
+        public List<Course> getCourses() {
+            return courses;
+        }
+
+        public int getCredits() {
+            return credits;
+        }
+
+        public int getGpaHundredths() {
+            return computeGpaHundredths(weightedHalfPoints, gradedCredits);
+        }
+    }
+}
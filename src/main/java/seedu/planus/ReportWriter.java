@@ -0,0 +1,105 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a report, such as a plan or a grade report, to an output piece by piece.
+ * Text is collected in a buffer of limited size that is passed on to the output when full and when flushed,
+ * so a report of any length is written without first building it as one string.
+ */
+public class ReportWriter {
+    public static final String SEPARATOR = "-----------------------------";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Appendable out;
+    private final StringBuilder buffer;
+
+    /**
+     * Constructs a writer that passes the report on to the given output.
+     *
+     * @param out Output of the report, e.g. System.out
+     */
+    public ReportWriter(Appendable out) {
+        this.out = out;
+        this.buffer = new StringBuilder(BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a report as a string
+     *
+     * @param report Writes the report to the given writer
+     * @return The report written
+     */
+    public static String render(Consumer<ReportWriter> report) {
+        StringBuilder text = new StringBuilder();
+        ReportWriter writer = new ReportWriter(text);
+        report.accept(writer);
+        writer.flush();
+        return text.toString();
+    }
+
+    public ReportWriter append(String text) {
+        buffer.append(text);
+        return flushIfFull();
+    }
+
+    public ReportWriter append(int number) {
+        buffer.append(number);
+        return flushIfFull();
+    }
+
+    /**
+     * Writes a GPA with two decimal places, as "%.2f" would format it
+     *
+     * @param gpaHundredths GPA multiplied by 100 and rounded
+     * @return This writer
+     */
+    public ReportWriter appendGpa(int gpaHundredths) {
+        assert gpaHundredths >= 0 : "GPA should be non-negative";
+        int fraction = gpaHundredths % 100;
+        buffer.append(gpaHundredths / 100).append('.');
+        if (fraction < 10) {
+            buffer.append('0');
+        }
+        buffer.append(fraction);
+        return flushIfFull();
+    }
+
+    public ReportWriter newLine() {
+        buffer.append(System.lineSeparator());
+        return flushIfFull();
+    }
+
+    /**
+     * Writes the separator line that ends every term of a report
+     *
+     * @return This writer
+     */
+    public ReportWriter separator() {
+        return append(SEPARATOR).newLine();
+    }
+
+    /**
+     * Passes what has been written so far on to the output
+     */
+    public void flush() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        try {
+            out.append(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.setLength(0);
+    }
+
+    private ReportWriter flushIfFull() {
+        if (buffer.length() >= BUFFER_SIZE) {
+            flush();
+        }
+        return this;
+    }
+}
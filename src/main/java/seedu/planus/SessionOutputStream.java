@@ -0,0 +1,56 @@
+package seedu.planus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Sends what is written to it to the output of the user served by the writing thread.
+ * In server mode it is installed as System.out, so that everything Ui and Parser print reaches the right user.
+ * Threads that serve no user write to the fallback stream.
+ */
+public class SessionOutputStream extends OutputStream {
+    private final OutputStream fallback;
+    private final ThreadLocal<OutputStream> target = new ThreadLocal<>();
+
+    /**
+     * Constructs a stream that writes to the fallback stream until a thread sets its own target.
+     *
+     * @param fallback Stream written to by threads that serve no user, e.g. the original System.out
+     */
+    public SessionOutputStream(OutputStream fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Sets where the current thread's writes go.
+     *
+     * @param out Output of the user served by the current thread, or null to write to the fallback stream
+     */
+    public void setTarget(OutputStream out) {
+        if (out == null) {
+            target.remove();
+        } else {
+            target.set(out);
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        current().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        current().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        current().flush();
+    }
+
+    private OutputStream current() {
+        OutputStream out = target.get();
+        return out == null ? fallback : out;
+    }
+}
@@ -1,15 +1,25 @@
 package seedu.planus;
 
-import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.ByteArrayInputStream;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
-import java.util.Scanner;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,8 +29,55 @@ import java.util.logging.Logger;
 public class Storage {
     public static final String FOLDER_PATH = "./data/";
     public static final String COURSE_LIST_PATH = "./data/CourseList.csv";
-    public static Integer userTimetableIndex = 0;
+    public static final String JOURNAL_ADD = "add";
+    public static final String JOURNAL_REMOVE = "rm";
+    public static final String JOURNAL_GRADE = "grade";
+    public static final String JOURNAL_MOVE = "move";
+    // Number of journal entries after which the journal is compacted into the timetable file
+    public static final int JOURNAL_COMPACTION_THRESHOLD = 200;
+    // Extension added to the journal while it is set aside during a compaction
+    private static final String ASIDE_EXTENSION = ".old";
+    // System property that maps the course list file read-only instead of loading it, e.g. -Dplanus.catalog.mapped=true
+    public static final String MAPPED_CATALOG_PROPERTY = "planus.catalog.mapped";
+    private static final StorageContext DEFAULT_CONTEXT = new StorageContext(FOLDER_PATH);
+    // Storage state of the user served by each thread; threads that have not set one share the default context
+    private static final ThreadLocal<StorageContext> CONTEXT = ThreadLocal.withInitial(() -> DEFAULT_CONTEXT);
+    private static final Object TEMPLATE_LOCK = new Object();
     private static Logger logger = Logger.getLogger("myLogger");
+    private static CourseCatalog courseCatalog;
+    // Recommended timetables of the majors loaded so far, keyed by major code
+    private static final HashMap<String, MajorTemplate> majorTemplates = new HashMap<>();
+
+    /**
+     * Returns the storage state of the user served by the current thread.
+     *
+     * @return The storage context of the current thread
+     */
+    public static StorageContext getContext() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * Sets the storage state of the user served by the current thread.
+     *
+     * @param storageContext Storage context of the user, or null to go back to the default context
+     */
+    public static void setContext(StorageContext storageContext) {
+        if (storageContext == null) {
+            CONTEXT.remove();
+        } else {
+            CONTEXT.set(storageContext);
+        }
+    }
+
+    /**
+     * Returns the index of the current timetable of the user.
+     *
+     * @return Integer representing the current timetable index.
+     */
+    public static int getUserTimetableIndex() {
+        return getContext().getTimetableIndex();
+    }
 
     /**
      * Returns a string representing the path of the file that stores the current timetable of the user.
@@ -28,7 +85,17 @@ public class Storage {
      * @return String representing the path of the file that stores the current timetable of the user.
      */
     public static String getUserTimetableFilePath() {
-        return "./data/myTimetable" + userTimetableIndex.toString() + ".csv";
+        return getUserTimetableFilePath(getUserTimetableIndex());
+    }
+
+    /**
+     * Returns a string representing the path of the file that stores a timetable of the user.
+     *
+     * @param i Integer representing the index of the timetable.
+     * @return String representing the path of the file that stores the timetable.
+     */
+    public static String getUserTimetableFilePath(int i) {
+        return getContext().getFolderPath() + "myTimetable" + i + ".csv";
     }
 
     /**
@@ -37,27 +104,193 @@ public class Storage {
      * @return String representing the name of the file that stores the current timetable of the user.
      */
     public static String getUserTimetableFileName() {
-        return "myTimetable" + userTimetableIndex.toString();
+        return "myTimetable" + getUserTimetableIndex();
     }
 
     /**
-     * Take in a timetable containing courses, then write courses to the user data file at ./data/myTimetable.csv.
+     * Returns a string representing the path of the journal of changes to the current timetable of the user.
+     *
+     * @return String representing the path of the journal file of the current timetable of the user.
+     */
+    public static String getUserTimetableJournalPath() {
+        return getContext().getFolderPath() + getUserTimetableFileName() + ".journal";
+    }
+
+    /**
+     * Returns a string representing the path of the binary snapshot of the current timetable of the user.
+     *
+     * @return String representing the path of the snapshot file of the current timetable of the user.
+     */
+    public static String getUserTimetableSnapshotPath() {
+        return getContext().getFolderPath() + getUserTimetableFileName() + TimetableSnapshot.FILE_EXTENSION;
+    }
+
+    /**
+     * Returns the path of a file in the folder of the user's timetables, e.g. a file of courses to import.
+     *
+     * @param fileName Name of the file, which may be in a subfolder of the folder
+     * @return The path of the file
+     * @throws Exception When the file name leads outside the folder of the user's timetables
+     */
+    public static Path getUserFilePath(String fileName) throws Exception {
+        Path folderPath = Paths.get(getContext().getFolderPath()).toAbsolutePath().normalize();
+        Path filePath = folderPath.resolve(fileName).normalize();
+        if (!filePath.startsWith(folderPath) || filePath.equals(folderPath)) {
+            logger.log(Level.WARNING, "File outside the user folder: {0}", fileName);
+            throw new Exception(Ui.INVALID_IMPORT_FILE);
+        }
+        return filePath;
+    }
+
+    /**
+     * Take in a timetable containing courses, then save it to the user data file at ./data/myTimetable.csv.
+     * If the timetable was loaded from or last saved to that file, only the changes made since then are appended
+     * to the journal of the file. Otherwise, or once the journal grows too long, the whole timetable is written.
+     * While writes are deferred, appending to the journal waits until {@link #flushDeferredWrites()}.
      *
      * @param timetable A table containing all courses of the user.
      */
     public static void writeToFile(Timetable timetable) {
+        String filePathName = getUserTimetableFilePath();
+        if (!filePathName.equals(timetable.getSavedFilePath())
+                || timetable.getJournalLength() >= JOURNAL_COMPACTION_THRESHOLD) {
+            writeSnapshot(timetable);
+            return;
+        }
+
+        if (getContext().isWriteDeferred()) {
+            getContext().setDeferredTimetable(timetable, timetable.getUnsavedChangeCount());
+            return;
+        }
+        appendToJournal(timetable, timetable.getUnsavedChangeCount());
+    }
+
+    /**
+     * Sets whether saving changes to the journal is deferred until {@link #flushDeferredWrites()} is called.
+     * Turning deferral off flushes the changes that are waiting.
+     *
+     * @param isDeferred Whether to defer writes
+     */
+    public static void setWriteDeferred(boolean isDeferred) {
+        if (!isDeferred) {
+            flushDeferredWrites();
+        }
+        getContext().setWriteDeferred(isDeferred);
+    }
+
+    /**
+     * Appends the changes waiting to be saved to the journal of the user timetable.
+     * Changes made by a command that has not called {@link #writeToFile(Timetable)} yet, e.g. one that failed halfway,
+     * are left out.
+     */
+    public static void flushDeferredWrites() {
+        StorageContext storageContext = getContext();
+        Timetable timetable = storageContext.getDeferredTimetable();
+        if (timetable == null) {
+            return;
+        }
+        int changeCount = storageContext.getDeferredChangeCount();
+        storageContext.setDeferredTimetable(null, 0);
+        appendToJournal(timetable, changeCount);
+    }
+
+    /**
+     * Writes the whole timetable to the user data file at ./data/myTimetable.csv and clears its journal.
+     * The timetable is written to a temporary file first, which then replaces the user data file,
+     * so that the user data file is never left half-written. The journal is set aside before the user data file is
+     * replaced and only deleted after, so that a crash in between never replays it on top of the changes it holds.
+     * A binary snapshot of the timetable is then written next to it, so that the next load does not need to parse
+     * the file.
+     *
+     * @param timetable A table containing all courses of the user.
+     */
+    public static void writeSnapshot(Timetable timetable) {
+        if (getContext().getDeferredTimetable() == timetable) {
+            getContext().setDeferredTimetable(null, 0);
+        }
+        String filePathName = getUserTimetableFilePath();
+        Path filePath = Paths.get(filePathName);
+        Path tempFilePath = Paths.get(filePathName + ".tmp");
+        Path journalPath = Paths.get(getUserTimetableJournalPath());
+        Path asideJournalPath = Paths.get(getUserTimetableJournalPath() + ASIDE_EXTENSION);
         try {
-            FileWriter fw = new FileWriter(getUserTimetableFilePath());
-            fw.write(timetable.toString());
-            fw.close();
+            byte[] contents = timetable.toString().getBytes(Charset.defaultCharset());
+            Files.write(tempFilePath, contents);
+            if (Files.exists(journalPath)) {
+                replaceFile(journalPath, asideJournalPath);
+            }
+            replaceFile(tempFilePath, filePath);
+            Files.deleteIfExists(asideJournalPath);
+            writeBinarySnapshot(timetable, filePath, contents);
+            timetable.markSaved(filePathName, 0);
         } catch (IOException e) {
             logger.log(Level.WARNING, "Failed writing timetable to file.");
+            timetable.markUnsaved();
             Ui.printFailedToWrite();
         }
     }
 
+    /**
+     * Moves a file over another, atomically where the file system supports it
+     */
+    private static void replaceFile(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Finishes a compaction of the journal of the current user timetable that a crash cut short.
+     * If the new user data file is still in its temporary file, the old file is still in place, so the journal set
+     * aside is put back to be replayed on it. Otherwise the new file already holds every change in the journal,
+     * and replaying them again could undo later changes, e.g. remove a course added back since, so it is deleted.
+     */
+    private static void recoverCompaction(String filePathName) {
+        Path asideJournalPath = Paths.get(getUserTimetableJournalPath() + ASIDE_EXTENSION);
+        if (!Files.exists(asideJournalPath)) {
+            return;
+        }
+        try {
+            Path tempFilePath = Paths.get(filePathName + ".tmp");
+            if (Files.exists(tempFilePath)) {
+                logger.log(Level.WARNING, "Restoring the journal of an unfinished compaction.");
+                Files.delete(tempFilePath);
+                replaceFile(asideJournalPath, Paths.get(getUserTimetableJournalPath()));
+            } else {
+                logger.log(Level.WARNING, "Deleting the journal of a finished compaction.");
+                Files.delete(asideJournalPath);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed recovering the journal of an unfinished compaction.");
+        }
+    }
+
+    private static void appendToJournal(Timetable timetable, int changeCount) {
+        if (changeCount == 0) {
+            return;
+        }
+        List<String> changes = timetable.drainUnsavedChanges(changeCount);
+        try {
+            if (Files.exists(Paths.get(getUserTimetableJournalPath()))) {
+                endJournalLine(getUserTimetableJournalPath(), false);
+            }
+            try (FileWriter fw = new FileWriter(getUserTimetableJournalPath(), true)) {
+                for (String change : changes) {
+                    fw.write(change + System.lineSeparator());
+                }
+            }
+            timetable.markSaved(getUserTimetableFilePath(), timetable.getJournalLength() + changes.size());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed appending changes to the journal, writing the whole timetable.");
+            writeSnapshot(timetable);
+        }
+    }
+
     /**
      * Take in a file name, then load the file containing all courses of the major/user to a Timetable object.
+     * A user timetable is read from its binary snapshot instead while the file is unchanged since the snapshot.
      *
      * @param timetableName The name of the file containing all courses of the major/user.
      *                      e.g. timetableName of "CEG" indicating the recommended timetable of Computer Engineering,
@@ -70,7 +303,7 @@ public class Storage {
         if (timetableName.contains("myTimetable")) {
             filePathName = getUserTimetableFilePath();
         } else {
-            filePathName = "./data/" + timetableName + ".csv";
+            filePathName = FOLDER_PATH + timetableName + ".csv";
         }
         Path filePath = Paths.get(filePathName);
 
@@ -79,46 +312,120 @@ public class Storage {
                 Ui.printFileNotFound(filePathName);
                 createFile(filePathName);
             } else {
-                InputStream in = Thread.currentThread().getContextClassLoader()
-                        .getResourceAsStream(timetableName + ".csv");
+                copyTemplate(timetableName, filePath);
+            }
+        }
+        assert Files.exists(filePath) : "Target file creation failed: " + timetableName + ".csv";
+
+        boolean hasGrade = timetableName.contains("myTimetable");
+        if (hasGrade) {
+            recoverCompaction(filePathName);
+        }
+        Timetable snapshotTimetable = hasGrade ? readBinarySnapshot(filePath) : null;
+        if (snapshotTimetable != null) {
+            newTimetable = snapshotTimetable;
+        } else {
+            byte[] contents;
+            boolean hasCorruptedData;
+            try {
+                contents = Files.readAllBytes(filePath);
+                hasCorruptedData = !parseTimetable(contents, filePathName, hasGrade, newTimetable);
+            } catch (IOException e) {
+                Ui.printFailedLoadingFile();
+                return newTimetable;
+            }
+            // a file with corrupted lines keeps being parsed, so that the lines keep being reported until fixed
+            if (hasGrade && !hasCorruptedData) {
+                writeBinarySnapshot(newTimetable, filePath, contents);
+            }
+        }
+
+        if (hasGrade) {
+            int journalLength = replayJournal(newTimetable);
+            newTimetable.markSaved(filePathName, journalLength);
+        }
+        return newTimetable;
+    }
+
+    /**
+     * Parses the contents of a timetable file into a timetable. Lines that cannot be parsed are reported and skipped.
+     *
+     * @param contents Contents of the timetable file
+     * @param filePathName Path of the timetable file, to report the lines that cannot be parsed
+     * @param hasGrade Whether the lines of the file end with the grade of the course
+     * @param timetable Timetable to add the courses to
+     * @return Whether every line of the file was parsed
+     * @throws IOException When the contents cannot be decoded
+     */
+    static boolean parseTimetable(byte[] contents, String filePathName, boolean hasGrade, Timetable timetable)
+            throws IOException {
+        boolean hasCorruptedData = false;
+        Reader contentReader = new InputStreamReader(new ByteArrayInputStream(contents), Charset.defaultCharset());
+        try (CsvReader reader = new CsvReader(contentReader)) {
+            while (reader.readLine()) {
                 try {
-                    Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
-                    assert in != null : "The input stream is null.";
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    Course course = parseCourse(reader, 0, hasGrade);
+                    timetable.addCourse(course);
+                } catch (Exception e) {
+                    hasCorruptedData = true;
+                    Ui.printCorruptedData(reader.getLineNumber(), filePathName);
                 }
             }
         }
-        assert Files.exists(filePath) : "Target file creation failed: " + timetableName + ".csv";
+        return !hasCorruptedData;
+    }
 
-        File f = new File(filePathName);
-        Scanner s = null;
+    /**
+     * Reads the current user timetable from its binary snapshot.
+     *
+     * @return The timetable, or null if the snapshot is missing, out of date or unreadable
+     */
+    private static Timetable readBinarySnapshot(Path filePath) {
         try {
-            s = new Scanner(f);
-        } catch (FileNotFoundException e) {
-            Ui.printFailedLoadingFile();
-            return newTimetable;
+            return TimetableSnapshot.read(filePath, Paths.get(getUserTimetableSnapshotPath()));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed reading the timetable snapshot, reading the timetable file instead.");
+            return null;
         }
-        s.useDelimiter(System.lineSeparator());
+    }
 
-        int lineNumber = 1;
-        while (s.hasNext()) {
-            String line = s.next();
+    /**
+     * Writes the binary snapshot of the current user timetable, taken from its file at the given path with the given
+     * contents. The snapshot only speeds up loading, so failing to write it leaves the timetable saved.
+     */
+    private static void writeBinarySnapshot(Timetable timetable, Path filePath, byte[] contents) {
+        try {
+            TimetableSnapshot.write(timetable, filePath, TimetableSnapshot.checksum(contents),
+                    Paths.get(getUserTimetableSnapshotPath()));
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed writing the timetable snapshot.");
+        }
+    }
+
+    /**
+     * Copies a bundled major template to the data folder. The template is shared by all users, so it is copied
+     * under a lock and only appears in the data folder once it is complete.
+     */
+    private static void copyTemplate(String timetableName, Path filePath) {
+        synchronized (TEMPLATE_LOCK) {
+            if (Files.exists(filePath)) {
+                return;
+            }
+            InputStream in = Thread.currentThread().getContextClassLoader()
+                    .getResourceAsStream(timetableName + ".csv");
             try {
-                Course course = parseCourse(timetableName, line);
-                newTimetable.addCourse(course);
-            } catch (Exception e) {
-                Ui.printCorruptedData(lineNumber, filePathName);
+                Path tempFilePath = Paths.get(filePath + ".tmp");
+                Files.copy(in, tempFilePath, StandardCopyOption.REPLACE_EXISTING);
+                assert in != null : "The input stream is null.";
+                Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
             }
-            lineNumber ++;
         }
-        s.close();
-
-        return newTimetable;
     }
 
     private static void createFile(String filePathName) {
-        Path folderPath = Paths.get(FOLDER_PATH);
+        Path folderPath = Paths.get(filePathName).getParent();
         Path filePath = Paths.get(filePathName);
 
         if (Files.exists(folderPath)) {
@@ -130,7 +437,7 @@ public class Storage {
             }
         } else {
             try {
-                Files.createDirectory(folderPath);
+                Files.createDirectories(folderPath);
                 Files.createFile(filePath);
             } catch (IOException ex) {
                 Ui.printFileFailedToCreate();
@@ -140,61 +447,133 @@ public class Storage {
         Ui.printFileCreated();
     }
 
-    private static void writeToCourseList(String course) {
+    /**
+     * Applies the changes recorded in the journal of the current user timetable to a timetable loaded from its file.
+     * Entries that cannot be applied are reported and skipped. A last line left half-written by a crash is also cut off
+     * the journal, so that the entries appended after it are not merged into it.
+     *
+     * @return The number of entries in the journal
+     */
+    private static int replayJournal(Timetable timetable) {
+        String journalPathName = getUserTimetableJournalPath();
+        if (!Files.exists(Paths.get(journalPathName))) {
+            return 0;
+        }
+
+        int journalLength;
+        boolean isLastLineCorrupted = false;
+        try (CsvReader reader = new CsvReader(new FileReader(journalPathName))) {
+            while (reader.readLine()) {
+                try {
+                    applyJournalEntry(reader, timetable);
+                    isLastLineCorrupted = false;
+                } catch (Exception e) {
+                    isLastLineCorrupted = true;
+                    Ui.printCorruptedData(reader.getLineNumber(), journalPathName);
+                }
+            }
+            journalLength = reader.getLineNumber();
+        } catch (IOException e) {
+            Ui.printFailedLoadingFile();
+            return 0;
+        }
+
         try {
-            FileWriter fw = new FileWriter(COURSE_LIST_PATH, true);
-            fw.write(course);
-            fw.close();
+            if (endJournalLine(journalPathName, isLastLineCorrupted)) {
+                journalLength--;
+            }
         } catch (IOException e) {
-            createFile(COURSE_LIST_PATH);
-            writeToCourseList(course);
+            logger.log(Level.WARNING, "Failed repairing the end of the journal.");
+        }
+        return journalLength;
+    }
+
+    /**
+     * Makes sure the journal ends with a line separator, so that the next entry is not appended onto a line
+     * left half-written by a crash. A last line without a line separator is cut off if it could not be applied,
+     * and ended otherwise.
+     *
+     * @return Whether the last line was cut off
+     */
+    private static boolean endJournalLine(String journalPathName, boolean isLastLineCorrupted) throws IOException {
+        try (RandomAccessFile journal = new RandomAccessFile(journalPathName, "rw")) {
+            long end = journal.length();
+            if (end == 0 || readByte(journal, end - 1) == '\n') {
+                return false;
+            }
+            if (!isLastLineCorrupted) {
+                journal.seek(end);
+                journal.write(System.lineSeparator().getBytes(StandardCharsets.UTF_8));
+                return false;
+            }
+            while (end > 0 && readByte(journal, end - 1) != '\n') {
+                end--;
+            }
+            journal.setLength(end);
+            return true;
         }
     }
 
-    private static Course parseCourse(String timetableName, String sentence) throws Exception {
-        String[] words = sentence.split(",");
-        String courseCode;
-        String courseName;
-        int modularCredits;
-        int year;
-        int term;
-        String letterGrade = null;
+    private static int readByte(RandomAccessFile file, long position) throws IOException {
+        file.seek(position);
+        return file.read();
+    }
 
-        try {
-            courseCode = words[0];
-            courseName = words[1];
-            modularCredits = Integer.parseInt(words[2]);
-            year = Integer.parseInt(words[3]);
-            term = Integer.parseInt(words[4]);
-            if (timetableName.contains("myTimetable")) {
-                letterGrade = words[5];
+    private static void applyJournalEntry(CsvReader reader, Timetable timetable) throws Exception {
+        String operation = reader.getField(0);
+        switch (operation) {
+        case JOURNAL_ADD:
+            timetable.addCourse(parseCourse(reader, 1, true));
+            break;
+        case JOURNAL_REMOVE:
+            timetable.removeCourse(reader.getField(1));
+            break;
+        case JOURNAL_GRADE:
+            timetable.removeGrade(reader.getField(1));
+            LetterGrade grade = LetterGrade.parse(reader.getField(2));
+            if (grade != null) {
+                timetable.addGrade(reader.getField(1), grade.toString());
             }
-        } catch (StringIndexOutOfBoundsException | NumberFormatException e) {
-            throw new Exception();
+            break;
+        case JOURNAL_MOVE:
+            timetable.moveCourse(reader.getField(1), reader.getIntField(2), reader.getIntField(3));
+            break;
+        default:
+            throw new Exception("Unknown journal entry: " + operation);
         }
+    }
+
+    private static Course parseCourse(CsvReader reader, int firstField, boolean hasGrade) throws Exception {
+        String courseCode = reader.getField(firstField);
+        String courseName = reader.getField(firstField + 1);
+        int modularCredits = reader.getIntField(firstField + 2);
+        int year = reader.getIntField(firstField + 3);
+        int term = reader.getIntField(firstField + 4);
 
         Course course = new Course(courseCode, courseName, modularCredits, year, term);
-        if (timetableName.contains("myTimetable")) {
-            course.setGrade(letterGrade);
+        if (hasGrade) {
+            course.setGrade(reader.getField(firstField + 5));
         }
         return course;
     }
 
     /**
-     * Searches the name and MCs of the course given the course code and user-input MCs.
+     * Returns the course catalogue, loading it from ./data/CourseList.csv on first use,
+     * or mapping it if the planus.catalog.mapped system property is true.
+     * If the file does not exist yet, it is copied from the bundled course list first.
      *
-     * @param courseCode String representing the course code of the course.
-     * @param MCs Integer representing the modular credits of the course.
-     * @return String representing the name and MCs of the course searched given the course code and user-input MCs.
+     * @return The in-memory course catalogue, or null if the course list file cannot be loaded.
      */
-    public static String searchCourse(String courseCode, Integer MCs) {
-        String courseName;
-        File f = new File(COURSE_LIST_PATH);
-        if (!f.exists()) {
+    public static synchronized CourseCatalog getCourseCatalog() {
+        if (courseCatalog != null) {
+            return courseCatalog;
+        }
+
+        Path filePath = Paths.get(COURSE_LIST_PATH);
+        if (!Files.exists(filePath)) {
             InputStream in = Thread.currentThread().getContextClassLoader()
                     .getResourceAsStream("CourseList.csv");
             try {
-                Path filePath = Paths.get("./data/CourseList.csv");
                 Files.copy(in, filePath, StandardCopyOption.REPLACE_EXISTING);
                 assert in != null : "The input stream is null.";
             } catch (IOException e) {
@@ -202,37 +581,98 @@ public class Storage {
             }
         }
 
-        Scanner s = null;
         try {
-            s = new Scanner(f);
-        } catch (FileNotFoundException e) {
-            Ui.printFailedSearchingInDatabase();
-            courseName = requireCourseName();
-            String course = courseCode + "," + courseName + "," + MCs + System.lineSeparator();
-            Storage.writeToCourseList(course);
-            return course.substring(course.indexOf(",")  + 1);
+            if (Boolean.getBoolean(MAPPED_CATALOG_PROPERTY)) {
+                courseCatalog = CourseCatalog.map(filePath);
+            } else {
+                courseCatalog = CourseCatalog.load(filePath);
+            }
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Failed loading the course list.");
+            return null;
+        }
+        return courseCatalog;
+    }
+
+    /**
+     * Returns the recommended timetable of a major, loading it from ./data/[major].csv on first use.
+     * If the file does not exist yet, it is copied from the bundled template first.
+     * Later calls for the same major return the same template without reading any file.
+     *
+     * @param major Code of the major, e.g. CEG
+     * @return The template of the major, or null if the name is that of a user timetable
+     * @throws NullPointerException When there is no bundled template for the major
+     */
+    public static synchronized MajorTemplate getMajorTemplate(String major) {
+        if (major.contains("myTimetable")) {
+            return null;
         }
+        MajorTemplate template = majorTemplates.get(major);
+        if (template == null) {
+            logger.log(Level.INFO, "Loading major template {0}", major);
+            template = new MajorTemplate(major, loadTimetable(major));
+            majorTemplates.put(major, template);
+        }
+        return template;
+    }
+
+    /**
+     * Replaces the course catalogue used by searchCourse, e.g. with a catalogue loaded from another file.
+     *
+     * @param catalog The course catalogue to use
+     */
+    static synchronized void setCourseCatalog(CourseCatalog catalog) {
+        courseCatalog = catalog;
+    }
 
-        while (s.hasNextLine()) {
-            String courseInList = s.nextLine();
-            String[] courseComponentsInList = courseInList.split(",");
-            String courseCodeInList = courseComponentsInList[0];
-            if (courseCode.equals(courseCodeInList)) {
-                return courseInList.substring(courseInList.indexOf(",")  + 1);
+    /**
+     * Searches the name and MCs of the course given the course code and user-input MCs.
+     * If the course is not in the course catalogue, the user is asked for the course name,
+     * and the course is added to the catalogue with the user-input MCs.
+     *
+     * @param courseCode String representing the course code of the course.
+     * @param MCs Integer representing the modular credits of the course.
+     * @return String representing the name and MCs of the course searched given the course code and user-input MCs.
+     */
+    public static String searchCourse(String courseCode, Integer MCs) {
+        CourseCatalog catalog = getCourseCatalog();
+        if (catalog == null) {
+            Ui.printFailedSearchingInDatabase();
+            catalog = new CourseCatalog(Paths.get(COURSE_LIST_PATH));
+        } else {
+            CourseCatalog.Entry entry = catalog.find(courseCode);
+            if (entry != null) {
+                return entry.getCourseName() + "," + entry.getModularCredit();
             }
+            Ui.printCourseNotExist();
         }
 
-        Ui.printCourseNotExist();
-        courseName = requireCourseName();
-        String course = courseCode + "," + courseName + "," + MCs + System.lineSeparator();
-        Storage.writeToCourseList(course);
-        return course.substring(course.indexOf(",")  + 1);
+        String courseName = requireCourseName();
+        CourseCatalog.Entry entry = catalog.add(courseCode, courseName, MCs);
+        return entry.getCourseName() + "," + entry.getModularCredit();
+    }
+
+    /**
+     * Searches the names and MCs of many courses in the course catalogue at once.
+     * Unlike searchCourse, the user is not asked for the names of courses that are not in the catalogue.
+     *
+     * @param courseCodes Codes of the courses
+     * @return The catalogue entries of the courses, in the same order, with null for courses not in the catalogue
+     */
+    public static List<CourseCatalog.Entry> searchCourses(List<String> courseCodes) {
+        CourseCatalog catalog = getCourseCatalog();
+        if (catalog == null) {
+            Ui.printFailedSearchingInDatabase();
+            return new ArrayList<>(Collections.nCopies(courseCodes.size(), null));
+        }
+        return catalog.findAll(courseCodes);
     }
 
     private static String requireCourseName() {
-        String inputCourseName;
-        Scanner in = new Scanner(System.in);
-        inputCourseName = in.nextLine();
+        String inputCourseName = Ui.readLine();
+        if (inputCourseName == null) {
+            throw new NoSuchElementException("No course name provided");
+        }
         if (inputCourseName.contains(",")) {
             Ui.printCommaInInputCourseName();
             return requireCourseName();
@@ -246,6 +686,8 @@ public class Storage {
      * @param i Integer representing the current timetable index.
      */
     public static void changeTimetable(int i) {
-        userTimetableIndex = i;
+        // changes waiting to be saved belong to the journal of the current timetable
+        flushDeferredWrites();
+        getContext().setTimetableIndex(i);
     }
 }
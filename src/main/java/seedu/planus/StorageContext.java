@@ -0,0 +1,63 @@
+package seedu.planus;
+
+/**
+ * Holds the storage state of one user: the folder of their timetable files, the timetable they are working on,
+ * and the changes waiting to be saved while writes are deferred.
+ * Storage uses the context of the current thread, so that every user served by a thread has their own.
+ */
+public class StorageContext {
+    private final String folderPath;
+    private int timetableIndex;
+    // When writes are deferred, the timetable whose changes are yet to be appended to the journal,
+    // and how many of its changes were made by commands that completed
+    private boolean isWriteDeferred;
+    private Timetable deferredTimetable;
+    private int deferredChangeCount;
+
+    /**
+     * Constructs the storage state of a user whose timetable files are kept in the given folder.
+     *
+     * @param folderPath Path of the folder, ending with "/"
+     */
+    public StorageContext(String folderPath) {
+        assert folderPath.endsWith("/") : "Folder path should end with /";
+        this.folderPath = folderPath;
+        this.timetableIndex = 0;
+    }
+
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    public int getTimetableIndex() {
+        return timetableIndex;
+    }
+
+    void setTimetableIndex(int timetableIndex) {
+        this.timetableIndex = timetableIndex;
+    }
+
+    boolean isWriteDeferred() {
+        return isWriteDeferred;
+    }
+
+    void setWriteDeferred(boolean isWriteDeferred) {
+        this.isWriteDeferred = isWriteDeferred;
+    }
+
+    Timetable getDeferredTimetable() {
+        return deferredTimetable;
+    }
+
+    int getDeferredChangeCount() {
+        return deferredChangeCount;
+    }
+
+    /**
+     * Records the timetable whose changes are waiting to be saved, or null if there are none
+     */
+    void setDeferredTimetable(Timetable timetable, int changeCount) {
+        deferredTimetable = timetable;
+        deferredChangeCount = changeCount;
+    }
+}
@@ -1,22 +1,60 @@
 package seedu.planus;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * Represents the course plan of a user. It is safe to use from many threads: methods that change the plan hold the
+ * write lock, and methods that read it hold the read lock, so reports can be built in parallel between changes.
+ * A report that reads the plan more than once holds {@link #readLock()} throughout, to see a consistent plan.
+ */
 public class Timetable {
     private static final Logger logger = Logger.getLogger("myLogger");
     private static final int TERM_PER_YEAR = 4;
     private static final int MAX_CANDIDATURE_YEAR = 6;
+    private static final int TERM_SLOTS = TERM_PER_YEAR * MAX_CANDIDATURE_YEAR;
 
-    // Each inner ArrayList represents a term
-    ArrayList<ArrayList<Course>> courses;
+    // Each inner ArrayList represents a term, at the slot given by toSlot(year, term); terms without courses are empty
+    private ArrayList<ArrayList<Course>> courses;
+    // Index of all courses in the plan, keyed by upper-cased course code
+    private HashMap<String, Course> courseIndex;
+    // Running GPA aggregates: MCs counted towards the GPA and the MC-weighted grade points in halves,
+    // kept per term slot, per year and in total so that no report needs to walk the courses to compute a GPA
+    private int[] termGradedCredits;
+    private long[] termWeightedHalfPoints;
+    private int[] yearGradedCredits;
+    private long[] yearWeightedHalfPoints;
+    private int totalGradedCredits;
+    private long totalWeightedHalfPoints;
+    // File the timetable was last loaded from or saved to, or null if it has changed in a way that is not recorded
+    private String savedFilePath;
+    // Changes since the timetable was last saved to savedFilePath, as journal entries understood by Storage
+    private ArrayList<String> unsavedChanges;
+    // Number of entries already in the journal of savedFilePath
+    private int journalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     /**
-     * Constructor to initialise the courses attribute with an empty 2D ArrayList
+     * Constructor to initialise the courses attribute with an empty list for every possible term
      */
     public Timetable() {
-        courses = new ArrayList<>();
+        courses = new ArrayList<>(TERM_SLOTS);
+        for (int i = 0; i < TERM_SLOTS; i++) {
+            courses.add(new ArrayList<>());
+        }
+        courseIndex = new HashMap<>();
+        termGradedCredits = new int[TERM_SLOTS];
+        termWeightedHalfPoints = new long[TERM_SLOTS];
+        yearGradedCredits = new int[MAX_CANDIDATURE_YEAR];
+        yearWeightedHalfPoints = new long[MAX_CANDIDATURE_YEAR];
+        unsavedChanges = new ArrayList<>();
     }
 
     /**
@@ -24,59 +62,60 @@ public class Timetable {
      *
      * @param course New course to be added
      * @return Returns whether the course already exists in the timetable
-     * @throws Exception When the year or term specified is not within acceptable range
      */
-    public boolean addCourse(Course course) throws Exception {
-
-        if (course.getYear() < 1 || course.getYear() > MAX_CANDIDATURE_YEAR) {
-            logger.log(Level.WARNING, course.toString() + ": Year provided is not from 1 to 6");
-            throw new Exception("Year provided is not from 1 to 6");
-        }
-        if (course.getTerm() < 1 || course.getTerm() > TERM_PER_YEAR) {
-            logger.log(Level.WARNING, course.toString() + ": Term provided is not from 1 to 4");
-            throw new Exception("Term provided is not from 1 to 4");
-        }
-
-        //check if the course is already added to avoid duplicated courses in the timetable
-        for (ArrayList<Course> termCourses: courses) {
-            for (Course existingCourse: termCourses) {
-                String existingCourseCode = existingCourse.getCourseCode();
-                String courseCode = course.getCourseCode();
-                if (existingCourseCode.equals(courseCode)) {
-                    return true;
-                }
+    public boolean addCourse(Course course) {
+        lock.writeLock().lock();
+        try {
+            //check if the course is already added to avoid duplicated courses in the timetable
+            String key = toKey(course.getCourseCode());
+            if (courseIndex.containsKey(key)) {
+                return true;
             }
-        }
 
-        boolean hasYearAndTerm = false;
-        int newCourseYearAndTerm = 4 * (course.getYear() - 1) + course.getTerm();
-
-        // Finding the suitable position to insert the course according to the year and term
-        int i = 0;
-        for (; i < courses.size(); i++) {
-            Course currCourse = courses.get(i).get(0);
-            int currYearAndTerm = 4 * (currCourse.getYear() - 1) + currCourse.getTerm();
-
-            if (currYearAndTerm == newCourseYearAndTerm) {
-                hasYearAndTerm = true;
-                logger.log(Level.INFO, "Found row for " + course.getYearAndTerm());
-                break;
-            }
-            if (currYearAndTerm > newCourseYearAndTerm) {
-                break;
+            int i = toSlot(course.getYear(), course.getTerm());
+            if (courses.get(i).isEmpty()) {
+                logger.log(Level.INFO, () -> "Adding new row for " + course.getYearAndTerm());
+            } else {
+                logger.log(Level.INFO, () -> "Found row for " + course.getYearAndTerm());
             }
+            courses.get(i).add(course);
+            courseIndex.put(key, course);
+            updateGpaAggregates(course, 1);
+            recordChange(() -> Storage.JOURNAL_ADD + "," + course);
+        } finally {
+            lock.writeLock().unlock();
         }
-
-        // If the specified year and term does not exist in the plan yet, we add it in
-        if (!hasYearAndTerm) {
-            courses.add(i, new ArrayList<Course>());
-            logger.log(Level.INFO, "Adding new row for " + course.getYearAndTerm());
-        }
-        courses.get(i).add(course);
         logger.log(Level.INFO, "Added new course");
         return false;
     }
 
+    /**
+     * Adds many courses to the timetable plan at once, under a single hold of the write lock.
+     *
+     * @param newCourses New courses to be added
+     * @return The courses that were not added because a course with the same code is already in the timetable,
+     *     or earlier in newCourses
+     */
+    public List<Course> addAll(List<Course> newCourses) {
+        List<Course> skippedCourses = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            for (Course course : newCourses) {
+                if (courseIndex.putIfAbsent(toKey(course.getCourseCode()), course) != null) {
+                    skippedCourses.add(course);
+                    continue;
+                }
+                courses.get(toSlot(course.getYear(), course.getTerm())).add(course);
+                updateGpaAggregates(course, 1);
+                recordChange(() -> Storage.JOURNAL_ADD + "," + course);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.log(Level.INFO, "Added {0} new courses", newCourses.size() - skippedCourses.size());
+        return skippedCourses;
+    }
+
     /**
      * Removes a course from the timetable plan
      *
@@ -84,30 +123,63 @@ public class Timetable {
      * @return Whether the course specified existed in the plan previously and has been successfully removed
      */
     public boolean removeCourse(String courseCode) {
-        boolean isRemoved = false;
-
-        for (int i = 0; i < courses.size(); i++) {
-            for (int j = 0; j < courses.get(i).size(); j++) {
-                String currCourseCode = courses.get(i).get(j).getCourseCode();
-                if (currCourseCode.equalsIgnoreCase(courseCode)) {
-                    courses.get(i).remove(j);
-                    isRemoved = true;
-                    logger.log(Level.INFO, "Course removed");
-                    break;
-                }
+        lock.writeLock().lock();
+        try {
+            Course course = courseIndex.remove(toKey(courseCode));
+            if (course == null) {
+                return false;
             }
 
-            if (courses.get(i).isEmpty()) {
-                logger.log(Level.INFO, "Row is now empty, removing it");
-                courses.remove(i);
-                break;
-            }
-            if (isRemoved) {
-                break;
-            }
+            courses.get(toSlot(course.getYear(), course.getTerm())).remove(course);
+            updateGpaAggregates(course, -1);
+            recordChange(() -> Storage.JOURNAL_REMOVE + "," + course.getCourseCode());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.log(Level.INFO, "Course removed");
+        return true;
+    }
+
+    /**
+     * Moves a course in the timetable plan to another year and term, keeping its grade and modular credits
+     *
+     * @param courseCode The code of the course to be moved
+     * @param year Academic year to move the course to
+     * @param term Semester to move the course to
+     * @return Whether the course specified exists in the plan and has been moved
+     * @throws Exception When the year or term specified is not within acceptable range
+     */
+    public boolean moveCourse(String courseCode, int year, int term) throws Exception {
+        if (!hasCourse(courseCode)) {
+            return false;
+        }
+        if (year < 1 || year > MAX_CANDIDATURE_YEAR) {
+            logger.log(Level.WARNING, "{0}: Year provided is not from 1 to 6", courseCode);
+            throw new Exception("Year provided is not from 1 to 6");
+        }
+        if (term < 1 || term > TERM_PER_YEAR) {
+            logger.log(Level.WARNING, "{0}: Term provided is not from 1 to 4", courseCode);
+            throw new Exception("Term provided is not from 1 to 4");
         }
 
-        return isRemoved;
+        lock.writeLock().lock();
+        try {
+            // the course may have been removed since it was looked up
+            Course course = courseIndex.get(toKey(courseCode));
+            if (course == null) {
+                return false;
+            }
+            updateGpaAggregates(course, -1);
+            courses.get(toSlot(course.getYear(), course.getTerm())).remove(course);
+            course.setYearAndTerm(year, term);
+            courses.get(toSlot(year, term)).add(course);
+            updateGpaAggregates(course, 1);
+            recordChange(() -> Storage.JOURNAL_MOVE + "," + course.getCourseCode() + "," + year + "," + term);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.log(Level.INFO, "Course moved to Year {0} Term {1}", new Object[] {year, term});
+        return true;
     }
 
     /**
@@ -117,20 +189,34 @@ public class Timetable {
      * @return String representing the letter grade of the course to be searched
      */
     public String searchGrade(String courseCode) {
-        String grade = null;
-
-        for (ArrayList<Course> termCourses : courses) {
-            for (Course course : termCourses) {
-                String currCourseCode = course.getCourseCode();
-                if (currCourseCode.equalsIgnoreCase(courseCode)) {
-                    grade = course.getLetterGrade();
-                    logger.log(Level.INFO, "Course found");
-                    return grade;
-                }
+        String letterGrade;
+        lock.readLock().lock();
+        try {
+            Course course = courseIndex.get(toKey(courseCode));
+            if (course == null) {
+                return null;
             }
+            letterGrade = course.getLetterGrade();
+        } finally {
+            lock.readLock().unlock();
         }
+        logger.log(Level.INFO, "Course found");
+        return letterGrade;
+    }
 
-        return grade;
+    /**
+     * Checks whether the course with provided course code is in the timetable plan
+     *
+     * @param courseCode The course code of the course
+     * @return Whether the course is in the plan
+     */
+    public boolean hasCourse(String courseCode) {
+        lock.readLock().lock();
+        try {
+            return courseIndex.containsKey(toKey(courseCode));
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -142,24 +228,34 @@ public class Timetable {
      */
     //@@author ZhangWenyue3325
     public boolean addGrade(String courseCode, String grade) {
-        for (ArrayList<Course> courseList : courses) {
-            for (Course course : courseList) {
-                String currCourseCode = course.getCourseCode();
-                if (currCourseCode.equalsIgnoreCase(courseCode)) {
-                    course.setGrade(grade);
-                    if (course.getLetterGrade() == null) {
-                        assert course.getNumberGrade() == -1 : "The numerical grade should be -1.";
-                        Ui.printInvalidInputGrade();
-                        return false;
-                    }
-                    assert course.getLetterGrade().equals(grade) : "The grade is not correctly set.";
-                    return true;
-                }
+        boolean isCourseFound;
+        String letterGrade = null;
+        lock.writeLock().lock();
+        try {
+            Course course = courseIndex.get(toKey(courseCode));
+            isCourseFound = course != null;
+            if (isCourseFound) {
+                updateGpaAggregates(course, -1);
+                course.setGrade(grade);
+                updateGpaAggregates(course, 1);
+                recordGradeChange(course);
+                letterGrade = course.getLetterGrade();
+                assert letterGrade != null || course.getNumberGrade() == -1 : "The numerical grade should be -1.";
             }
+        } finally {
+            lock.writeLock().unlock();
         }
 
-        Ui.printFailedToAddGrade();
-        return false;
+        if (!isCourseFound) {
+            Ui.printFailedToAddGrade();
+            return false;
+        }
+        if (letterGrade == null) {
+            Ui.printInvalidInputGrade();
+            return false;
+        }
+        assert letterGrade.equals(grade) : "The grade is not correctly set.";
+        return true;
     }
 
     /**
@@ -169,17 +265,20 @@ public class Timetable {
      * @return Whether the grade has been successfully removed
      */
     public boolean removeGrade(String courseCode) {
-        for (ArrayList<Course> courseList : courses) {
-            for (Course course : courseList) {
-                String currCourseCode = course.getCourseCode();
-                if (currCourseCode.equalsIgnoreCase(courseCode)) {
-                    course.setGrade(null);
-                    assert course.getNumberGrade() == -1 : "The numerical grade should be -1.";
-                    return true;
-                }
+        lock.writeLock().lock();
+        try {
+            Course course = courseIndex.get(toKey(courseCode));
+            if (course == null) {
+                return false;
             }
+            updateGpaAggregates(course, -1);
+            course.setGrade(null);
+            recordGradeChange(course);
+            assert course.getNumberGrade() == -1 : "The numerical grade should be -1.";
+            return true;
+        } finally {
+            lock.writeLock().unlock();
         }
-        return false;
     }
 
     /**
@@ -187,16 +286,281 @@ public class Timetable {
      *
      * @param year Academic year
      * @param term Semester
+     * @return Index of the term in courses, or -1 if there is no course in the term
      */
     int searchTimetableIndex(int year, int term) {
-        int index = -1;
-        for (int i = 0; i < courses.size(); i ++) {
-            if (courses.get(i).get(0).getYear() == year && courses.get(i).get(0).getTerm() == term) {
-                index = i;
-                break;
+        if (year < 1 || year > MAX_CANDIDATURE_YEAR || term < 1 || term > TERM_PER_YEAR) {
+            return -1;
+        }
+        int index = toSlot(year, term);
+        lock.readLock().lock();
+        try {
+            return courses.get(index).isEmpty() ? -1 : index;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the courses planned in the specific year and term.
+     * The list is a read-only view, so the caller should hold {@link #readLock()} while using it.
+     *
+     * @param year Academic year
+     * @param term Semester
+     * @return The courses in the term, which is empty if there is none
+     */
+    List<Course> getTermCourses(int year, int term) {
+        return Collections.unmodifiableList(courses.get(toSlot(year, term)));
+    }
+
+    /**
+     * Returns the lock that keeps the timetable from changing while it is held, e.g. while a report is built.
+     * Many threads can hold it at the same time.
+     *
+     * @return The read lock of the timetable
+     */
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Returns the GPA of the specific year and term
+     *
+     * @param year Academic year
+     * @param term Semester
+     * @return The GPA of the term, or 0 if no course in the term is counted towards the GPA
+     */
+    public double getTermGpa(int year, int term) {
+        int slot = toSlot(year, term);
+        lock.readLock().lock();
+        try {
+            return computeGpa(termWeightedHalfPoints[slot], termGradedCredits[slot]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the GPA of the specific year
+     *
+     * @param year Academic year
+     * @return The GPA of the year, or 0 if no course in the year is counted towards the GPA
+     */
+    public double getYearGpa(int year) {
+        lock.readLock().lock();
+        try {
+            return computeGpa(yearWeightedHalfPoints[year - 1], yearGradedCredits[year - 1]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the cumulative GPA of the whole plan
+     *
+     * @return The cumulative GPA, or 0 if no course is counted towards the GPA
+     */
+    public double getCumulativeGpa() {
+        lock.readLock().lock();
+        try {
+            return computeGpa(totalWeightedHalfPoints, totalGradedCredits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the modular credits of the courses in the specific year and term that are counted towards the GPA
+     *
+     * @param year Academic year
+     * @param term Semester
+     * @return The graded credits of the term
+     */
+    int getTermGradedCredits(int year, int term) {
+        int slot = toSlot(year, term);
+        lock.readLock().lock();
+        try {
+            return termGradedCredits[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the sum of the grade points of the courses in the specific year and term, weighted by their graded
+     * credits, in halves
+     *
+     * @param year Academic year
+     * @param term Semester
+     * @return The weighted grade points of the term, in halves
+     */
+    long getTermWeightedHalfPoints(int year, int term) {
+        int slot = toSlot(year, term);
+        lock.readLock().lock();
+        try {
+            return termWeightedHalfPoints[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces all courses in this timetable with copies of the courses of another timetable,
+     * so that changing the courses of either timetable afterwards does not change the other
+     *
+     * @param other Timetable whose courses are to be copied over
+     */
+    void replaceWith(Timetable other) {
+        assert other != this : "A timetable cannot be replaced with itself";
+        lock.writeLock().lock();
+        other.lock.readLock().lock();
+        try {
+            courses = new ArrayList<>(TERM_SLOTS);
+            courseIndex = new HashMap<>();
+            for (ArrayList<Course> termCourses : other.courses) {
+                ArrayList<Course> copies = new ArrayList<>(termCourses.size());
+                for (Course course : termCourses) {
+                    Course copy = new Course(course);
+                    copies.add(copy);
+                    courseIndex.put(toKey(copy.getCourseCode()), copy);
+                }
+                courses.add(copies);
             }
+            termGradedCredits = other.termGradedCredits.clone();
+            termWeightedHalfPoints = other.termWeightedHalfPoints.clone();
+            yearGradedCredits = other.yearGradedCredits.clone();
+            yearWeightedHalfPoints = other.yearWeightedHalfPoints.clone();
+            totalGradedCredits = other.totalGradedCredits;
+            totalWeightedHalfPoints = other.totalWeightedHalfPoints;
+            markUnsaved();
+        } finally {
+            other.lock.readLock().unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that the timetable is now in sync with a file and its journal
+     *
+     * @param filePath Path of the file the timetable was loaded from or saved to
+     * @param journalLength Number of entries in the journal of the file
+     */
+    void markSaved(String filePath, int journalLength) {
+        lock.writeLock().lock();
+        try {
+            savedFilePath = filePath;
+            this.journalLength = journalLength;
+            unsavedChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets the file the timetable was saved to, so that the next save writes the whole timetable
+     */
+    void markUnsaved() {
+        lock.writeLock().lock();
+        try {
+            savedFilePath = null;
+            journalLength = 0;
+            unsavedChanges.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    String getSavedFilePath() {
+        lock.readLock().lock();
+        try {
+            return savedFilePath;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getJournalLength() {
+        lock.readLock().lock();
+        try {
+            return journalLength;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int getUnsavedChangeCount() {
+        lock.readLock().lock();
+        try {
+            return unsavedChanges.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the oldest changes made since the timetable was last saved, and stops tracking them
+     *
+     * @param count Number of changes to return
+     * @return The journal entries of the changes, oldest first
+     */
+    ArrayList<String> drainUnsavedChanges(int count) {
+        lock.writeLock().lock();
+        try {
+            ArrayList<String> changes = new ArrayList<>(unsavedChanges.subList(0, count));
+            unsavedChanges.subList(0, count).clear();
+            return changes;
+        } finally {
+            lock.writeLock().unlock();
         }
-        return index;
+    }
+
+    /**
+     * Records a change as a journal entry, as long as the timetable is saved to a file the change can be applied to.
+     * The entry is only built in that case, so that loading a timetable does not build one per course.
+     */
+    private void recordChange(Supplier<String> entry) {
+        if (savedFilePath != null) {
+            unsavedChanges.add(entry.get());
+        }
+    }
+
+    private void recordGradeChange(Course course) {
+        recordChange(() -> Storage.JOURNAL_GRADE + "," + course.getCourseCode() + "," + course.getLetterGrade());
+    }
+
+    /**
+     * Adds (sign of 1) or subtracts (sign of -1) the contribution of a course to the GPA aggregates
+     */
+    private void updateGpaAggregates(Course course, int sign) {
+        int credits = sign * course.getGradedCredit();
+        if (credits == 0) {
+            return;
+        }
+        long halfPoints = sign * course.getWeightedHalfPoints();
+        int slot = toSlot(course.getYear(), course.getTerm());
+        int yearIndex = course.getYear() - 1;
+
+        termGradedCredits[slot] += credits;
+        termWeightedHalfPoints[slot] += halfPoints;
+        yearGradedCredits[yearIndex] += credits;
+        yearWeightedHalfPoints[yearIndex] += halfPoints;
+        totalGradedCredits += credits;
+        totalWeightedHalfPoints += halfPoints;
+    }
+
+    private static double computeGpa(long weightedHalfPoints, int gradedCredits) {
+        if (gradedCredits == 0) {
+            return 0.00;
+        }
+        return weightedHalfPoints / 2.0 / gradedCredits;
+    }
+
+    private static String toKey(String courseCode) {
+        return courseCode.toUpperCase();
+    }
+
+    private static int toSlot(int year, int term) {
+        return TERM_PER_YEAR * (year - 1) + term - 1;
     }
 
     //@@author ZhouJunmin
@@ -204,10 +568,15 @@ public class Timetable {
     public String toString() {
         StringBuilder plan = new StringBuilder();
 
-        for (ArrayList<Course> termCourses : courses) {
-            for (Course course : termCourses) {
-                plan.append(course.toString()).append(System.lineSeparator());
+        lock.readLock().lock();
+        try {
+            for (ArrayList<Course> termCourses : courses) {
+                for (Course course : termCourses) {
+                    plan.append(course.toString()).append(System.lineSeparator());
+                }
             }
+        } finally {
+            lock.readLock().unlock();
         }
 
         return plan.toString();
@@ -0,0 +1,198 @@
+package seedu.planus;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the recently used timetables of the user in memory across commands, so that switching back to one of them
+ * does not load it from disk again. The least recently used timetable is dropped once more than the capacity of the
+ * session are held, after any change to it that is not on disk yet has been written back.
+ * A timetable is only reloaded from disk when it is not held, when its file has been changed outside the session,
+ * or when the session has been invalidated.
+ */
+public class TimetableSession {
+    public static final int DEFAULT_CAPACITY = 4;
+    private static final Logger logger = Logger.getLogger("myLogger");
+
+    private final int capacity;
+    // Timetables held in memory keyed by timetable index, least recently used first
+    private final LinkedHashMap<Integer, ResidentTimetable> residentTimetables;
+    // Index of the timetable last returned by getTimetable, or null if none has been returned since invalidate
+    private Integer currentIndex;
+    private int reloadCount;
+
+    /**
+     * Constructs a session with no timetable loaded yet, holding up to {@link #DEFAULT_CAPACITY} timetables.
+     * The timetable is loaded lazily on the first call to {@link #getTimetable()}.
+     */
+    public TimetableSession() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a session with no timetable loaded yet, holding up to the given number of timetables.
+     *
+     * @param capacity Maximum number of timetables held in memory, at least 1
+     */
+    public TimetableSession(int capacity) {
+        assert capacity >= 1 : "A session should hold at least one timetable";
+        this.capacity = capacity;
+        this.residentTimetables = new LinkedHashMap<>(capacity * 2, 0.75f, true);
+        this.reloadCount = 0;
+    }
+
+    /**
+     * Returns the current timetable of the user, loading it from disk only when it is not held or out of date.
+     *
+     * @return The in-memory timetable of the current user timetable file
+     */
+    public Timetable getTimetable() {
+        int index = Storage.getUserTimetableIndex();
+        ResidentTimetable resident = residentTimetables.get(index);
+        if (resident == null || resident.isChangedOnDisk()) {
+            resident = reload(index);
+        }
+        currentIndex = index;
+        return resident.timetable;
+    }
+
+    /**
+     * Records the state of the file of the timetable last returned as being in sync with the in-memory timetable.
+     * To be called after a command has completed, since every write of the command comes from the in-memory timetable.
+     */
+    public void markSynced() {
+        ResidentTimetable resident = currentIndex == null ? null : residentTimetables.get(currentIndex);
+        if (resident != null) {
+            resident.markSynced();
+        }
+    }
+
+    /**
+     * Marks the timetable last returned as unreliable, e.g. after a command failed halfway,
+     * so that it is reloaded from disk before the next command. Other timetables held stay in memory.
+     */
+    public void invalidate() {
+        if (currentIndex != null) {
+            residentTimetables.remove(currentIndex);
+            currentIndex = null;
+        }
+    }
+
+    /**
+     * Records that a command on the timetable last returned has failed. The timetable is only reloaded from disk
+     * before the next command when the failed command left changes in it that are not on disk,
+     * so that e.g. a mistyped command keeps it in memory.
+     */
+    public void markFailed() {
+        ResidentTimetable resident = currentIndex == null ? null : residentTimetables.get(currentIndex);
+        if (resident == null) {
+            return;
+        }
+        if (resident.isDirty()) {
+            invalidate();
+        } else {
+            resident.markSynced();
+        }
+    }
+
+    /**
+     * Writes every timetable held that has changes not on disk yet back to its file, e.g. when the user exits.
+     */
+    public void writeBack() {
+        for (Map.Entry<Integer, ResidentTimetable> entry : new ArrayList<>(residentTimetables.entrySet())) {
+            writeBack(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Returns the number of times a timetable has been loaded from disk by this session.
+     *
+     * @return Number of loads, including the initial one
+     */
+    public int getReloadCount() {
+        return reloadCount;
+    }
+
+    /**
+     * Returns the number of timetables held in memory.
+     *
+     * @return Number of timetables held, at most the capacity of the session
+     */
+    public int getResidentCount() {
+        return residentTimetables.size();
+    }
+
+    private ResidentTimetable reload(int index) {
+        logger.log(Level.INFO, () -> "Loading user timetable " + Storage.getUserTimetableFileName());
+        ResidentTimetable resident = new ResidentTimetable(index,
+                Storage.loadTimetable(Storage.getUserTimetableFileName()));
+        resident.markSynced();
+        residentTimetables.put(index, resident);
+        reloadCount++;
+        evictLeastRecentlyUsed();
+        return resident;
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Iterator<Map.Entry<Integer, ResidentTimetable>> iterator = residentTimetables.entrySet().iterator();
+        while (residentTimetables.size() > capacity) {
+            Map.Entry<Integer, ResidentTimetable> eldest = iterator.next();
+            logger.log(Level.INFO, "Dropping user timetable {0} from memory", eldest.getKey());
+            iterator.remove();
+            writeBack(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    /**
+     * Writes a timetable back to its file if it has changes that are not on disk, e.g. after a write failed
+     */
+    private static void writeBack(int index, ResidentTimetable resident) {
+        if (!resident.isDirty()) {
+            return;
+        }
+        logger.log(Level.INFO, "Writing back user timetable {0}", index);
+        int userTimetableIndex = Storage.getUserTimetableIndex();
+        Storage.changeTimetable(index);
+        Storage.writeToFile(resident.timetable);
+        Storage.changeTimetable(userTimetableIndex);
+        resident.markSynced();
+    }
+
+    /**
+     * Represents a timetable held in memory, with the state of its file when it was last in sync with it.
+     */
+    private static class ResidentTimetable {
+        private final Timetable timetable;
+        private final String filePath;
+        private long lastModified;
+        private long fileSize;
+
+        ResidentTimetable(int index, Timetable timetable) {
+            this.timetable = timetable;
+            this.filePath = Storage.getUserTimetableFilePath(index);
+        }
+
+        void markSynced() {
+            File f = new File(filePath);
+            lastModified = f.lastModified();
+            fileSize = f.length();
+        }
+
+        boolean isChangedOnDisk() {
+            File f = new File(filePath);
+            return f.lastModified() != lastModified || f.length() != fileSize;
+        }
+
+        /**
+         * Returns whether the timetable has changes that are not saved to its file
+         */
+        boolean isDirty() {
+            return !filePath.equals(timetable.getSavedFilePath()) || timetable.getUnsavedChangeCount() > 0;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package seedu.planus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes the binary snapshot of a user timetable, which is kept next to its CSV file
+ * so that the timetable can be loaded without parsing any text.
+ * A snapshot records the size, modification time and CRC-32 checksum of the CSV file it was taken from,
+ * and is only read while the CSV file is unchanged, so the CSV file stays the file that users edit and share.
+ * The checksum catches edits that keep the size and fall within the modification time granularity of the
+ * file system, which is as coarse as 2 seconds on some of them.
+ *
+ * <p>Format, in the byte order of {@link DataOutputStream}:
+ * <pre>
+ *   int   MAGIC
+ *   byte  VERSION
+ *   long  size of the CSV file
+ *   long  modification time of the CSV file, in milliseconds
+ *   long  CRC-32 checksum of the contents of the CSV file
+ *   int   number of strings, followed by each string as an unsigned short length and that many bytes of UTF-8
+ *   int   number of courses, followed by each course as
+ *         int index of its code, int index of its name, byte term slot, byte MCs, byte grade
+ * </pre>
+ * The term slot is 4 * (year - 1) + term - 1, and the grade is 0 for no grade or 1 + the ordinal of the LetterGrade.
+ */
+public class TimetableSnapshot {
+    public static final String FILE_EXTENSION = ".snapshot";
+    // "PLNS"
+    private static final int MAGIC = 0x504C4E53;
+    private static final byte VERSION = 3;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+    private static final int TERM_PER_YEAR = 4;
+    private static final int MAX_CANDIDATURE_YEAR = 6;
+    private static final LetterGrade[] LETTER_GRADES = LetterGrade.values();
+
+    /**
+     * Writes the snapshot of a timetable that has just been saved to the given CSV file.
+     * The snapshot is written to a temporary file first, so that a snapshot is never left half-written.
+     *
+     * @param timetable Timetable saved to the CSV file
+     * @param csvPath Path of the CSV file
+     * @param csvChecksum Checksum of the contents of the CSV file, from {@link #checksum(byte[])}
+     * @param snapshotPath Path of the snapshot file
+     * @throws IOException When the CSV file cannot be found or the snapshot cannot be written
+     */
+    public static void write(Timetable timetable, Path csvPath, long csvChecksum, Path snapshotPath)
+            throws IOException {
+        List<String> strings = new ArrayList<>();
+        HashMap<String, Integer> stringIndex = new HashMap<>();
+        List<Course> planCourses = new ArrayList<>();
+        timetable.readLock().lock();
+        try {
+            for (int year = 1; year <= MAX_CANDIDATURE_YEAR; year++) {
+                for (int term = 1; term <= TERM_PER_YEAR; term++) {
+                    planCourses.addAll(timetable.getTermCourses(year, term));
+                }
+            }
+        } finally {
+            timetable.readLock().unlock();
+        }
+        int[] codeIndexes = new int[planCourses.size()];
+        int[] nameIndexes = new int[planCourses.size()];
+        for (int i = 0; i < planCourses.size(); i++) {
+            codeIndexes[i] = indexOf(planCourses.get(i).getCourseCode(), strings, stringIndex);
+            nameIndexes[i] = indexOf(planCourses.get(i).getCourseName(), strings, stringIndex);
+        }
+
+        Path tempPath = Paths.get(snapshotPath + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(Files.size(csvPath));
+            out.writeLong(Files.getLastModifiedTime(csvPath).toMillis());
+            out.writeLong(csvChecksum);
+
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > MAX_STRING_LENGTH) {
+                    throw new IOException("String too long for a snapshot: " + string);
+                }
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(planCourses.size());
+            for (int i = 0; i < planCourses.size(); i++) {
+                Course course = planCourses.get(i);
+                LetterGrade grade = LetterGrade.parse(course.getLetterGrade());
+                out.writeInt(codeIndexes[i]);
+                out.writeInt(nameIndexes[i]);
+                out.writeByte(TERM_PER_YEAR * (course.getYear() - 1) + course.getTerm() - 1);
+                out.writeByte(course.getModularCredit());
+                out.writeByte(grade == null ? 0 : grade.ordinal() + 1);
+            }
+        }
+        try {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Reads the timetable from a snapshot, if the snapshot was taken from the CSV file as it is now.
+     *
+     * @param csvPath Path of the CSV file
+     * @param snapshotPath Path of the snapshot file
+     * @return The timetable, or null if there is no snapshot or the CSV file has changed since it was taken
+     * @throws IOException When the snapshot cannot be read or is corrupted
+     */
+    public static Timetable read(Path csvPath, Path snapshotPath) throws IOException {
+        if (!Files.exists(snapshotPath) || !Files.exists(csvPath)) {
+            return null;
+        }
+        // the whole snapshot is decoded from memory, as reading it field by field from a stream takes longer than
+        // parsing the CSV file
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+        try {
+            if (in.getInt() != MAGIC || in.get() != VERSION) {
+                return null;
+            }
+            long csvSize = in.getLong();
+            long csvLastModified = in.getLong();
+            long csvChecksum = in.getLong();
+            if (csvSize != Files.size(csvPath) || csvLastModified != Files.getLastModifiedTime(csvPath).toMillis()
+                    || csvChecksum != checksum(Files.readAllBytes(csvPath))) {
+                return null;
+            }
+
+            String[] strings = new String[in.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                int length = Short.toUnsignedInt(in.getShort());
+                strings[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            }
+
+            int courseCount = in.getInt();
+            List<Course> courses = new ArrayList<>(courseCount);
+            for (int i = 0; i < courseCount; i++) {
+                String courseCode = strings[in.getInt()];
+                String courseName = strings[in.getInt()];
+                int slot = Byte.toUnsignedInt(in.get());
+                int modularCredit = Byte.toUnsignedInt(in.get());
+                int grade = Byte.toUnsignedInt(in.get());
+
+                Course course = new Course(courseCode, courseName, modularCredit,
+                        slot / TERM_PER_YEAR + 1, slot % TERM_PER_YEAR + 1);
+                if (grade > 0) {
+                    course.setLetterGrade(LETTER_GRADES[grade - 1]);
+                }
+                courses.add(course);
+            }
+            Timetable timetable = new Timetable();
+            timetable.addAll(courses);
+            return timetable;
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Corrupted snapshot " + snapshotPath, e);
+        }
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the contents of a CSV file, which takes far less time than parsing them.
+     *
+     * @param contents Contents of the CSV file
+     * @return The checksum recorded in the snapshot of the CSV file
+     */
+    public static long checksum(byte[] contents) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        return crc.getValue();
+    }
+
+    private static int indexOf(String string, List<String> strings, HashMap<String, Integer> stringIndex) {
+        Integer index = stringIndex.get(string);
+        if (index == null) {
+            index = strings.size();
+            strings.add(string);
+            stringIndex.put(string, index);
+        }
+        return index;
+    }
+}
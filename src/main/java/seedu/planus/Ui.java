@@ -1,4 +1,5 @@
 package seedu.planus;
+import java.util.List;
 import java.util.Scanner;
 
 //@@author iscyng
@@ -42,9 +43,26 @@ public class Ui {
             "[course code] [letter grade]\n    e.g. change grade CS1010 A\n" +
             "To change to another timetable please enter: " +
             "change timetable [timetable index]\n    e.g. change timetable 2";
+    public static final String INVALID_IMPORT = "To import courses, please enter: import [course code] y/[year] " +
+            "t/[term] m/[modular credit] [course code] y/[year] t/[term] ...\n" +
+            "    e.g. import CS1010 y/1 t/1 CS2040C y/1 t/2\n" +
+            "To import courses from a file in the data folder, please enter: import [file name]\n" +
+            "    e.g. import plan.csv";
+    public static final String INVALID_IMPORT_FILE = "Please provide the name of a file in the data folder\n" +
+            "    e.g. import plan.csv";
+    public static final String INVALID_WHAT_IF = "To see your GPA if your courses without a grade get some grades, " +
+            "please enter: whatif [letter grade] [letter grade] ... gpa/[target GPA]\n" +
+            "    e.g. whatif A B+ B gpa/4.00";
+    public static final String INVALID_TARGET_GPA = "To see the grades you need for a GPA, please enter: " +
+            "target gpa [target GPA]\n    e.g. target gpa 4.00";
+    public static final String INVALID_GPA = "Please provide a GPA from 0 to 5, e.g. 4.00";
 
     public static final String COMMA_IN_COURSE_CODE = "Please provide course code with no \",\" inside";
 
+    // Shared by every read of user input on a thread, so that input buffered by one read is not lost to the next.
+    // Each thread has its own, as each user served in server mode has their own input.
+    private static final ThreadLocal<Scanner> IN = new ThreadLocal<>();
+
     public static void printLogo() {
         System.out.println(" ________  ___       ________  ________   ___  ___  ________\n" +
                 "|\\   __  \\|\\  \\     |\\   __  \\|\\   ___  \\|\\  \\|\\  \\|\\   ____\\\n" +
@@ -63,14 +81,21 @@ public class Ui {
                 "    add course [course code] y/[year] t/[term] m/[modular credit]\n" +
                 "        e.g. add course CS1010 y/1 t/1 m/4\n" +
                 "    add grade [course code] [letter grade]\n        e.g. add grade CS1010 A\n" +
+                "    import [course code] y/[year] t/[term] m/[modular credit] ...\n" +
+                "        e.g. import CS1010 y/1 t/1 CS2040C y/1 t/2\n" +
+                "    import [file name]\n        e.g. import plan.csv\n" +
                 "    rm course [course code]\n        e.g. rm course CS1010\n" +
                 "    rm grade [course code]\n        e.g. rm grade CS1010\n" +
                 "    move course [course code] y/[year] t/[term]\n        e.g. move course CS1010 y/1 t/2\n" +
                 "    change grade [course code] [letter grade]\n        e.g. change grade CS1010 A\n" +
                 "    change timetable [timetable index]\n        e.g. change timetable 1\n" +
                 "    check y/[year]\n        e.g. check y/1\n" +
+                "    check y/[first year]-[last year]\n        e.g. check y/2-3\n" +
                 "    check y/[year] t/[term]\n        e.g. check y/1 t/1\n" +
+                "    whatif [letter grade] [letter grade] ... gpa/[target GPA]\n        e.g. whatif A B+ B gpa/4.00\n" +
+                "    target gpa [target GPA]\n        e.g. target gpa 4.00\n" +
                 "    view y/[year]\n        e.g. view y/1\n" +
+                "    view y/[first year]-[last year]\n        e.g. view y/2-3\n" +
                 "    view y/[year] t/[term]\n        e.g. view y/1 t/1\n" +
                 "    display [major]\n        e.g. display CEG\n" +
                 "    help\n" +
@@ -176,15 +201,85 @@ public class Ui {
                 "    e.g. move course DTK1234 y/4 t/1");
     }
 
+    public static void printCoursesImported(int courseCount) {
+        System.out.println("Sure! " + courseCount + " courses have been added to your schedule.");
+    }
+
+    public static void printCoursesAlreadyAdded(List<String> courseCodes) {
+        System.out.println("These courses have already been added: " + String.join(", ", courseCodes) + "\n" +
+                "If you want to add them elsewhere, please use \"move\" command.");
+    }
+
+    public static void printCoursesNotExist(List<String> courseCodes) {
+        System.out.println("These courses do not exist in our database and have not been added: " +
+                String.join(", ", courseCodes) + "\n" +
+                "You may add them one by one with \"add course\" to provide their names.");
+    }
+
     public static void printCommaInInputCourseName() {
         System.out.println("Please re-enter course name ONLY with no \",\" inside:");
     }
 
+    public static void printBatchSummary(int commandCount, double totalMillis, double meanMicros,
+            double p50Micros, double p95Micros, double maxMicros) {
+        System.out.println(String.format("Ran %d commands in %.1f ms.", commandCount, totalMillis));
+        System.out.println(String.format("Latency per command (us): mean %.1f, p50 %.1f, p95 %.1f, max %.1f",
+                meanMicros, p50Micros, p95Micros, maxMicros));
+    }
+
+    public static void printServerStarted(int port) {
+        System.out.println("PlaNUS server is listening on port " + port);
+    }
+
+    public static void printAskUserName() {
+        System.out.println("Please enter your user name:");
+    }
+
+    public static void printInvalidUserName() {
+        System.out.println("User names can only have 1 to 32 letters, digits, \"-\" or \"_\".");
+    }
+
+    public static void printUserAlreadyConnected(String userName) {
+        System.out.println("User " + userName + " is already connected.");
+    }
+
     //@@author cirelesna
     public static String getUserCommand() {
         System.out.print("Command: ");
-        Scanner in = new Scanner(System.in);
-        return in.nextLine();
+        System.out.flush();
+        return getInput().nextLine();
+    }
+
+    /**
+     * Reads the next line of user input, e.g. a course name requested in the middle of a command.
+     *
+     * @return The next line of input, or null if there is no more input
+     */
+    public static String readLine() {
+        Scanner input = getInput();
+        return input.hasNextLine() ? input.nextLine() : null;
+    }
+
+    /**
+     * Changes where user input is read from on the current thread.
+     *
+     * @param source Source of the input, or null to read from standard input again
+     */
+    public static void setInput(Readable source) {
+        if (source == null) {
+            IN.remove();
+        } else {
+            IN.set(new Scanner(source));
+        }
+    }
+
+    private static Scanner getInput() {
+        Scanner in = IN.get();
+        if (in == null) {
+            in = new Scanner(System.in);
+            IN.set(in);
+        }
+        return in;
     }
 }
 
@@ -0,0 +1,114 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import org.junit.jupiter.api.Test;
+
+public class AsyncLogHandlerTest {
+    @Test
+    public void publish_manyRecords_allWrittenInOrderWithSource() {
+        RecordingHandler target = new RecordingHandler(null);
+        AsyncLogHandler handler = new AsyncLogHandler(target, AsyncLogHandler.DEFAULT_CAPACITY);
+        Logger logger = Logger.getLogger("asyncLogHandlerTest");
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+
+        for (int i = 0; i < 1000; i++) {
+            logger.log(Level.INFO, "Record {0}", "R" + i);
+        }
+        handler.flush();
+        logger.removeHandler(handler);
+        handler.close();
+
+        assertEquals(1000, target.messages.size());
+        assertEquals("Record R0", target.messages.get(0));
+        assertEquals("Record R999", target.messages.get(999));
+        assertEquals(AsyncLogHandlerTest.class.getName(), target.sourceClassNames.get(0));
+        assertEquals(0, handler.getDroppedCount());
+    }
+
+    @Test
+    public void publish_bufferFull_recordsDroppedWithoutBlocking() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler target = new RecordingHandler(release);
+        AsyncLogHandler handler = new AsyncLogHandler(target, 4);
+
+        for (int i = 0; i < 100; i++) {
+            handler.publish(new LogRecord(Level.INFO, "Record " + i));
+        }
+        release.countDown();
+        handler.close();
+
+        assertTrue(handler.getDroppedCount() > 0);
+        assertEquals(100 - handler.getDroppedCount() + 1, target.messages.size());
+        assertEquals("Dropped " + handler.getDroppedCount() + " log records as the log buffer was full",
+                target.messages.get(target.messages.size() - 1));
+    }
+
+    @Test
+    public void flush_writerWaitingForTarget_waitsUntilWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler target = new RecordingHandler(release);
+        AsyncLogHandler handler = new AsyncLogHandler(target, AsyncLogHandler.DEFAULT_CAPACITY);
+        for (int i = 0; i < 10; i++) {
+            handler.publish(new LogRecord(Level.INFO, "Record " + i));
+        }
+
+        Thread flusher = new Thread(handler::flush);
+        flusher.start();
+        flusher.join(100);
+        assertTrue(flusher.isAlive());
+        release.countDown();
+        flusher.join();
+
+        assertEquals(10, target.messages.size());
+        handler.close();
+        handler.publish(new LogRecord(Level.INFO, "Record after close"));
+        assertEquals(10, target.messages.size());
+    }
+
+    /**
+     * Keeps the formatted messages of the records it is given, optionally waiting for a latch before the first one
+     */
+    private static class RecordingHandler extends Handler {
+        private final List<String> messages = new ArrayList<>();
+        private final List<String> sourceClassNames = new ArrayList<>();
+        private final CountDownLatch release;
+        private final SimpleFormatter formatter = new SimpleFormatter();
+
+        RecordingHandler(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void publish(LogRecord record) {
+            try {
+                if (release != null) {
+                    release.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(formatter.formatMessage(record));
+            sourceClassNames.add(record.getSourceClassName());
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
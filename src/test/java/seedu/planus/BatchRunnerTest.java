@@ -0,0 +1,74 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BatchRunnerTest {
+    private static final int BATCH_TEST_INDEX = -7;
+
+    @TempDir
+    Path dataDir;
+
+    private final PrintStream originalOut = System.out;
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Storage.setContext(new StorageContext(dataDir.toString() + "/"));
+        Storage.changeTimetable(BATCH_TEST_INDEX);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        Storage.writeSnapshot(timetable);
+        System.setOut(new PrintStream(output));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+        Storage.setContext(null);
+    }
+
+    @Test
+    public void run_commandsInScript_changesSavedAtEnd(@TempDir Path tempDir) throws Exception {
+        Path script = tempDir.resolve("script.txt");
+        Files.writeString(script, "add grade CS1010 A\n\nrm course CS1231\nadd grade CS1010 B+\n");
+
+        BatchRunner runner = new BatchRunner(script, BatchRunner.DEFAULT_FLUSH_INTERVAL);
+        runner.run();
+
+        assertEquals(3, runner.getCommandCount());
+        assertTrue(output.toString().contains("The grade has been added to CS1010"));
+        assertTrue(output.toString().contains("Ran 3 commands"));
+        assertEquals(2, Files.readAllLines(Paths.get(Storage.getUserTimetableJournalPath())).size());
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        assertEquals("B+", timetable.searchGrade("CS1010"));
+    }
+
+    @Test
+    public void run_failedCommand_completedChangesKept(@TempDir Path tempDir) throws Exception {
+        Path script = tempDir.resolve("script.txt");
+        Files.writeString(script, "add grade CS1010 A\nmove course CS1010 y/9 t/1\nview\nbye\nrm course CS1010\n");
+
+        BatchRunner runner = new BatchRunner(script, 1);
+        runner.run();
+
+        assertEquals(4, runner.getCommandCount());
+        assertTrue(output.toString().contains("Year provided is not from 1 to 6"));
+        assertTrue(output.toString().contains("CS1010 Programming Methodology"));
+        assertFalse(Files.exists(Paths.get(Storage.getUserTimetableJournalPath())));
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        assertEquals("CS1010,Programming Methodology,4,1,1,A" + System.lineSeparator(), timetable.toString());
+    }
+}
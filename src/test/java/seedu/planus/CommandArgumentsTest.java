@@ -0,0 +1,51 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandArgumentsTest {
+    @Test
+    public void parse_spacesAnywhere_sameWordsAsSplit() {
+        String[] lines = {"help", "add course CS1010 y/1 t/1", " view", "add  grade CS1010 A", "check   ",
+            "move course\tCS1010 y/2 t/1", "    ", "a b  c   d"};
+        for (String line : lines) {
+            String[] words = line.split(" ");
+            CommandArguments arguments = CommandArguments.parse(line);
+            assertEquals(words.length, arguments.size(), line);
+            for (int i = 0; i < words.length; i++) {
+                assertEquals(words[i], arguments.get(i), line);
+            }
+        }
+    }
+
+    @Test
+    public void getIndex_prefixedWords_lastWordWithEachPrefix() {
+        CommandArguments arguments = CommandArguments.parse("add course CS1010 y/1 m/2 t/3 y/4");
+        assertEquals(6, arguments.getYearIndex());
+        assertEquals(5, arguments.getTermIndex());
+        assertEquals(4, arguments.getModularCreditIndex());
+        assertEquals("4", arguments.getValue(6, CommandArguments.YEAR_PREFIX));
+        assertTrue(arguments.startsWith(5, CommandArguments.TERM_PREFIX));
+        assertFalse(arguments.startsWith(2, CommandArguments.TERM_PREFIX));
+
+        CommandArguments noPrefixes = CommandArguments.parse("VIEW y");
+        assertEquals(-1, noPrefixes.getYearIndex());
+        assertEquals(-1, noPrefixes.getTermIndex());
+        assertEquals(-1, noPrefixes.getModularCreditIndex());
+        assertEquals("view", noPrefixes.getCommandWord());
+    }
+
+    @Test
+    public void get_missingWord_exceptionThrown() {
+        CommandArguments arguments = CommandArguments.parse("change grade CS1010");
+        IndexOutOfBoundsException e = assertThrows(IndexOutOfBoundsException.class, () -> arguments.get(3));
+        assertEquals("Index 3 out of bounds for length 3", e.getMessage());
+        assertThrows(IndexOutOfBoundsException.class, () -> arguments.get(-1));
+        assertNull(CommandArguments.parse("   ").getCommandWord());
+    }
+}
@@ -0,0 +1,32 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+public class CommandRegistryTest {
+    private final Command view = (arguments, timetable) -> false;
+    private final Command addCourse = (arguments, timetable) -> false;
+    private final CommandRegistry registry = new CommandRegistry()
+            .register("view", view)
+            .register("add", "course", addCourse)
+            .setInvalidSubCommandMessage("add", Ui.INVALID_ADD);
+
+    @Test
+    public void find_registeredCommands_handlersFound() throws Exception {
+        assertSame(view, registry.find(CommandArguments.parse("VIEW y/1")));
+        assertSame(addCourse, registry.find(CommandArguments.parse("add Course CS1010 y/1 t/1")));
+    }
+
+    @Test
+    public void find_unknownCommands_nullOrException() throws Exception {
+        assertNull(registry.find(CommandArguments.parse("jump")));
+        assertNull(registry.find(CommandArguments.parse("add")));
+        assertNull(registry.find(CommandArguments.parse("  ")));
+        Exception e = assertThrows(Exception.class, () -> registry.find(CommandArguments.parse("add lesson")));
+        assertEquals(Ui.INVALID_ADD, e.getMessage());
+    }
+}
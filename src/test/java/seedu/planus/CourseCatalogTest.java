@@ -0,0 +1,103 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CourseCatalogTest {
+    @TempDir
+    Path tempDir;
+
+    private Path courseListPath;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        courseListPath = tempDir.resolve("CourseList.csv");
+        Files.write(courseListPath, List.of(
+                "CS1010,Programming Methodology,4",
+                "CS2040C,Data Structures and Algorithms,4",
+                "CS2113,Software Engineering & Object-Oriented Programming,4",
+                "MA1511,Engineering Calculus,2",
+                "not a course line"));
+    }
+
+    @Test
+    public void find_existingCourse_entryReturned() throws Exception {
+        CourseCatalog catalog = CourseCatalog.load(courseListPath);
+        assertEquals(4, catalog.size());
+        assertEquals("Engineering Calculus", catalog.find("MA1511").getCourseName());
+        assertEquals(2, catalog.find("ma1511").getModularCredit());
+        assertNull(catalog.find("EE2026"));
+    }
+
+    @Test
+    public void findAll_someCoursesMissing_nullForMissing() throws Exception {
+        CourseCatalog catalog = CourseCatalog.load(courseListPath);
+        List<CourseCatalog.Entry> entries = catalog.findAll(List.of("cs1010", "EE2026", "MA1511"));
+        assertEquals(3, entries.size());
+        assertEquals("CS1010", entries.get(0).getCourseCode());
+        assertNull(entries.get(1));
+        assertEquals("Engineering Calculus", entries.get(2).getCourseName());
+    }
+
+    @Test
+    public void findByPrefix_wildcardPrefix_matchesSortedByCode() throws Exception {
+        CourseCatalog catalog = CourseCatalog.load(courseListPath);
+        List<CourseCatalog.Entry> matches = catalog.findByPrefix("cs2*");
+        assertEquals(2, matches.size());
+        assertEquals("CS2040C", matches.get(0).getCourseCode());
+        assertEquals("CS2113", matches.get(1).getCourseCode());
+        assertEquals(0, catalog.findByPrefix("EE").size());
+    }
+
+    @Test
+    public void add_newCourse_indexedAndAppendedToFile() throws Exception {
+        CourseCatalog catalog = CourseCatalog.load(courseListPath);
+        catalog.findByPrefix("CS");
+        catalog.add("CS2101", "Effective Communication for Computing Professionals", 4);
+
+        assertEquals(3, catalog.findByPrefix("CS2").size());
+        assertEquals("CS2101,Effective Communication for Computing Professionals,4",
+                Files.readAllLines(courseListPath).get(5));
+        assertEquals(5, CourseCatalog.load(courseListPath).size());
+    }
+
+    @Test
+    public void map_sameFile_sameCoursesAsLoad() throws Exception {
+        Files.write(courseListPath, List.of(
+                "CS1010,Programming Methodology,4",
+                " cs2040c ,Data Structures and Algorithms,4\r",
+                "CS1010,Duplicate Line,8",
+                "EE2026,Digital Design,x",
+                "CS2113,Software Engineering & Object-Oriented Programming,4",
+                "MA1511,Engineering Calculus"));
+        CourseCatalog loaded = CourseCatalog.load(courseListPath);
+        CourseCatalog mapped = CourseCatalog.map(courseListPath);
+
+        assertEquals(loaded.size(), mapped.size());
+        for (String courseCode : List.of("CS1010", "CS2040C", "cs2113", "EE2026", "MA1511")) {
+            assertEquals(String.valueOf(loaded.find(courseCode)), String.valueOf(mapped.find(courseCode)));
+        }
+        assertEquals(loaded.findByPrefix("CS").toString(), mapped.findByPrefix("CS").toString());
+    }
+
+    @Test
+    public void map_courseAdded_foundAndAppendedToFile() throws Exception {
+        CourseCatalog catalog = CourseCatalog.map(courseListPath);
+        catalog.add("CS2101", "Effective Communication for Computing Professionals", 4);
+
+        assertEquals(5, catalog.size());
+        assertEquals(4, catalog.find("cs2101").getModularCredit());
+        assertEquals(3, catalog.findByPrefix("CS2*").size());
+        assertEquals("CS2101", catalog.findByPrefix("CS2*").get(1).getCourseCode());
+        assertEquals("CS2101,Effective Communication for Computing Professionals,4",
+                Files.readAllLines(courseListPath).get(5));
+    }
+}
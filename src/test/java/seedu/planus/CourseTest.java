@@ -1,6 +1,10 @@
 package seedu.planus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 
 import org.junit.jupiter.api.Test;
 
@@ -34,4 +38,45 @@ public class CourseTest {
         course.setGrade("A");
         assertEquals("MA1511: A", course.getGrade());
     }
+
+    @Test
+    public void packedAttributes_largestValues_keptApart() throws Exception {
+        Course course = new Course("CG4002", "Computer Engineering Capstone Project", 30, 6, 4);
+        course.setGrade("CU");
+        assertEquals("CG4002,Computer Engineering Capstone Project,30,6,4,CU", course.toString());
+
+        course.setGrade("A+");
+        course.setYearAndTerm(1, 1);
+        assertEquals("CG4002,Computer Engineering Capstone Project,30,1,1,A+", course.toString());
+        assertEquals(30, course.getGradedCredit());
+        course.setGrade(null);
+        assertEquals(-1, course.getNumberGrade());
+        assertEquals(0, course.getWeightedHalfPoints());
+    }
+
+    @Test
+    public void courseInfo_sameCodeOtherName_nameKept() {
+        CourseInfo info = CourseInfo.of("CS2113", "Software Engineering & Object-Oriented Programming");
+        CourseInfo renamedInfo = CourseInfo.of("CS2113", "Software Engineering");
+        assertSame(info, CourseInfo.of(new String("CS2113"), "Software Engineering & Object-Oriented Programming"));
+        assertEquals("CS2113", renamedInfo.getCourseCode());
+        assertEquals("Software Engineering", renamedInfo.getCourseName());
+    }
+
+    @Test
+    public void footprint_sameCodeAndName_sharedAndPacked() throws Exception {
+        Course course = new Course("CS1010", "Programming Methodology", 4, 1, 1);
+        Course otherCourse = new Course(new String("CS1010"), new String("Programming Methodology"), 4, 2, 3);
+        assertSame(course.getCourseCode(), otherCourse.getCourseCode());
+        assertSame(course.getCourseName(), otherCourse.getCourseName());
+
+        // Instance fields of a Course, sized as in a JOL layout with compressed references
+        int fieldBytes = 0;
+        for (Field field : Course.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fieldBytes += field.getType() == long.class || field.getType() == double.class ? 8 : 4;
+            }
+        }
+        assertEquals(8, fieldBytes);
+    }
 }
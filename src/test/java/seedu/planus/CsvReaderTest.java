@@ -0,0 +1,56 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+public class CsvReaderTest {
+    @Test
+    public void readLine_mixedLineEndings_allLinesRead() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("CS1010,Programming Methodology,4,1,1,A\r\n"
+                + "MA1511,Engineering Calculus,2,1,1,null\nCG2111A,,4,1,2,B+\r\n"));
+
+        assertTrue(reader.readLine());
+        assertEquals(6, reader.getFieldCount());
+        assertEquals("CS1010", reader.getField(0));
+        assertEquals("A", reader.getField(5));
+
+        assertTrue(reader.readLine());
+        assertEquals("Engineering Calculus", reader.getField(1));
+        assertEquals(2, reader.getIntField(2));
+
+        assertTrue(reader.readLine());
+        assertEquals(3, reader.getLineNumber());
+        assertEquals("", reader.getField(1));
+        assertEquals("B+", reader.getField(5));
+
+        assertFalse(reader.readLine());
+        reader.close();
+    }
+
+    @Test
+    public void getIntField_invalidNumber_exceptionThrown() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("CS1010,Programming Methodology,four,,-1, 4"));
+        assertTrue(reader.readLine());
+        assertThrows(NumberFormatException.class, () -> reader.getIntField(2));
+        assertThrows(NumberFormatException.class, () -> reader.getIntField(3));
+        assertThrows(NumberFormatException.class, () -> reader.getIntField(4));
+        assertThrows(NumberFormatException.class, () -> reader.getIntField(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> reader.getField(6));
+    }
+
+    @Test
+    public void readLine_manyFields_allFieldsAccessible() throws Exception {
+        CsvReader reader = new CsvReader(new StringReader("0,1,2,3,4,5,6,7,8,9,10,11"));
+        assertTrue(reader.readLine());
+        assertEquals(12, reader.getFieldCount());
+        for (int i = 0; i < 12; i++) {
+            assertEquals(i, reader.getIntField(i));
+        }
+    }
+}
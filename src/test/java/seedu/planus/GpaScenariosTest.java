@@ -0,0 +1,126 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+public class GpaScenariosTest {
+    private static Timetable createTimetable() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "", 4, 1, 1));
+        timetable.addGrade("CS1010", "A");
+        timetable.addCourse(new Course("MA1511", "", 2, 1, 1));
+        timetable.addCourse(new Course("CS2040C", "", 4, 1, 2));
+        timetable.addCourse(new Course("CFG1002", "", 0, 1, 2));
+        return timetable;
+    }
+
+    @Test
+    public void of_timetableChangedAfterwards_snapshotUnchanged() throws Exception {
+        Timetable timetable = createTimetable();
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+        timetable.addGrade("MA1511", "B");
+
+        assertEquals(4, scenarios.getGradedCredits());
+        assertEquals(40, scenarios.getWeightedHalfPoints());
+        assertEquals(2, scenarios.getUngradedCount());
+        assertEquals(6, scenarios.getUngradedCredits());
+        assertEquals("MA1511", scenarios.getUngradedCourseCode(0));
+    }
+
+    @Test
+    public void evaluate_fewScenarios_allCombinations() throws Exception {
+        GpaScenarios.Distribution distribution = GpaScenarios.of(createTimetable())
+                .evaluate(List.of(LetterGrade.A, LetterGrade.B_PLUS, LetterGrade.B, LetterGrade.S), 0);
+
+        assertFalse(distribution.isSampled());
+        assertEquals(16, distribution.getScenarioCount());
+        // B in both courses: (4 * 5 + 2 * 3.5 + 4 * 3.5) / 10
+        assertEquals(410, distribution.getMinGpaHundredths());
+        assertEquals(500, distribution.getMaxGpaHundredths());
+        // A or S in both courses, and 6 other scenarios such as B in MA1511 with S in CS2040C (27 / 6 = 4.5)
+        assertEquals(10, distribution.countAtLeast(450));
+        assertEquals(4, distribution.countAtLeast(500));
+    }
+
+    @Test
+    public void evaluate_manyScenarios_sampledSameOnAnyPool() throws Exception {
+        Timetable timetable = new Timetable();
+        for (int i = 0; i < 40; i++) {
+            timetable.addCourse(new Course("SYN" + i, "", 4, i % 6 + 1, i % 4 + 1));
+        }
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+        List<LetterGrade> grades = List.of(LetterGrade.A, LetterGrade.B, LetterGrade.C);
+
+        GpaScenarios.Distribution distribution = scenarios.evaluate(grades, 7, new ForkJoinPool(4), 100000);
+        GpaScenarios.Distribution sequentialDistribution = scenarios.evaluate(grades, 7, new ForkJoinPool(1), 100000);
+        assertTrue(distribution.isSampled());
+        assertEquals(100000, distribution.getScenarioCount());
+        for (int gpa = 0; gpa <= 500; gpa++) {
+            assertEquals(sequentialDistribution.countAtLeast(gpa), distribution.countAtLeast(gpa));
+        }
+        // grade points of 5, 3.5 and 2 average to 3.5
+        assertEquals(350, distribution.getPercentileGpaHundredths(50), 5);
+    }
+
+    @Test
+    public void findMinimumGrades_reachableTarget_fewestCreditsWithHigherGrade() throws Exception {
+        Timetable timetable = createTimetable();
+        timetable.addCourse(new Course("GEA1000", "", 4, 2, 1));
+        timetable.addGrade("GEA1000", "S");
+        timetable.addCourse(new Course("CS2113", "", 4, 2, 1));
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+
+        // 4.4 over 14 MCs (S is left out) needs 123.2 half points, 83.2 of them from the 10 MCs without a grade:
+        // B+ in all of them gives 80, so A- is needed in 4 MCs
+        LetterGrade[] grades = scenarios.findMinimumGrades(440);
+        assertEquals(LetterGrade.B_PLUS, grades[0]);
+        assertEquals(LetterGrade.A_MINUS, grades[1]);
+        assertEquals(LetterGrade.B_PLUS, grades[2]);
+        assertEquals(LetterGrade.F, scenarios.findMinimumGrades(100)[0]);
+    }
+
+    @Test
+    public void findMinimumGrades_unreachableTarget_null() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "", 4, 1, 1));
+        timetable.addGrade("CS1010", "C");
+        for (int i = 0; i < 500; i++) {
+            timetable.addCourse(new Course("SYN" + i, "", i % 5 + 1, i % 6 + 1, 1));
+        }
+        GpaScenarios scenarios = GpaScenarios.of(timetable);
+
+        assertEquals(null, scenarios.findMinimumGrades(500));
+        LetterGrade[] grades = scenarios.findMinimumGrades(499);
+        long halfPoints = scenarios.getWeightedHalfPoints();
+        for (int i = 0; i < grades.length; i++) {
+            halfPoints += (long) grades[i].getHalfPoints() * scenarios.getUngradedCredit(i);
+        }
+        assertEquals(499, PlanRollup.computeGpaHundredths(halfPoints, 4 + scenarios.getUngradedCredits()));
+    }
+
+    @Test
+    public void findMinimumGrades_emptyTimetable_null() {
+        GpaScenarios scenarios = GpaScenarios.of(new Timetable());
+
+        assertEquals(null, scenarios.findMinimumGrades(450));
+        assertEquals(0, scenarios.findMinimumGrades(0).length);
+    }
+
+    @Test
+    public void findMinimumGrades_onlySuCourses_null() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("GEA1000", "", 4, 1, 1));
+        timetable.addGrade("GEA1000", "S");
+        timetable.addCourse(new Course("CFG1002", "", 0, 1, 1));
+        timetable.addCourse(new Course("CG4002", "", 8, 4, 1));
+        timetable.addGrade("CG4002", "CS");
+
+        assertEquals(null, GpaScenarios.of(timetable).findMinimumGrades(450));
+    }
+}
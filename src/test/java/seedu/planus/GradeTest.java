@@ -3,6 +3,9 @@ package seedu.planus;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GradeTest {
     @Test
@@ -14,4 +17,26 @@ public class GradeTest {
     public void setNumberGrade_success() {
         assertEquals(4.50, new Grade("A-").getNumberGrade());
     }
+
+    @Test
+    public void setLetterGrade_invalidGrade_noGrade() {
+        for (String invalidGrade : new String[] {"E", "A*", "CA", "a", "", "null", "S+", "D-", "ABC"}) {
+            Grade grade = new Grade(invalidGrade);
+            assertNull(grade.getLetterGrade());
+            assertEquals(-1.0, grade.getNumberGrade());
+            assertFalse(grade.isCountedInGpa());
+        }
+    }
+
+    @Test
+    public void isCountedInGpa_suGrades_excluded() {
+        for (String suGrade : new String[] {"S", "U", "CS", "CU"}) {
+            assertFalse(new Grade(suGrade).isCountedInGpa());
+            assertEquals(suGrade, new Grade(suGrade).getLetterGrade());
+        }
+        assertTrue(new Grade("F").isCountedInGpa());
+        assertEquals(0, new Grade("F").getHalfPoints());
+        assertEquals(5.00, new Grade("A+").getNumberGrade());
+        assertEquals(5, new Grade("C+").getHalfPoints());
+    }
 }
@@ -0,0 +1,141 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PlaNusServerTest {
+    private static final String FIRST_USER = "server-test-alice";
+    private static final String SECOND_USER = "server-test-bob";
+
+    private final PrintStream originalOut = System.out;
+    private PlaNusServer server;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = new PlaNusServer(0);
+        server.start();
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.stop();
+        System.setOut(originalOut);
+        deleteUserFolder(FIRST_USER);
+        deleteUserFolder(SECOND_USER);
+    }
+
+    @Test
+    public void setContext_userContext_userFilesInUserFolder() {
+        Storage.setContext(new StorageContext(PlaNusServer.USERS_FOLDER_PATH + FIRST_USER + "/"));
+        Storage.changeTimetable(2);
+        assertEquals("./data/users/" + FIRST_USER + "/myTimetable2.csv", Storage.getUserTimetableFilePath());
+
+        Storage.setContext(null);
+        assertEquals("./data/myTimetable0.csv", Storage.getUserTimetableFilePath());
+    }
+
+    @Test
+    public void serve_twoUsers_eachHasOwnTimetable() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            send(first, FIRST_USER + "\nview\n");
+            send(second, SECOND_USER + "\nview\nbye\n");
+            String secondOutput = readAll(second);
+            send(first, "bye\n");
+            String firstOutput = readAll(first);
+
+            assertTrue(firstOutput.contains("Bye~ Hope to see you again soon!"));
+            assertTrue(secondOutput.contains("Bye~ Hope to see you again soon!"));
+        }
+        assertTrue(Files.exists(Paths.get(PlaNusServer.USERS_FOLDER_PATH + FIRST_USER + "/myTimetable0.csv")));
+        assertTrue(Files.exists(Paths.get(PlaNusServer.USERS_FOLDER_PATH + SECOND_USER + "/myTimetable0.csv")));
+    }
+
+    @Test
+    public void serve_userAlreadyConnected_secondConnectionClosed() throws Exception {
+        try (Socket first = connect(); Socket second = connect()) {
+            send(first, FIRST_USER + "\n");
+            // the first connection has taken the user name once it prints the command prompt
+            readUntil(first, "Command: ");
+            send(second, FIRST_USER + "\n");
+            assertTrue(readAll(second).contains("User " + FIRST_USER + " is already connected."));
+
+            send(first, "bye\n");
+            assertTrue(readAll(first).contains("Bye~ Hope to see you again soon!"));
+        }
+    }
+
+    @Test
+    public void serve_invalidUserName_connectionClosed() throws Exception {
+        try (Socket socket = connect()) {
+            send(socket, "../alice\n");
+            String output = readAll(socket);
+            assertTrue(output.contains("User names can only have"));
+            assertFalse(output.contains("Command: "));
+        }
+    }
+
+    private Socket connect() throws IOException {
+        return new Socket("localhost", server.getPort());
+    }
+
+    private static void send(Socket socket, String lines) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(lines.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private static String readAll(Socket socket) throws IOException {
+        return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void readUntil(Socket socket, String text) throws IOException {
+        InputStream in = socket.getInputStream();
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        while (!received.toString(StandardCharsets.UTF_8).contains(text)) {
+            int b = in.read();
+            if (b < 0) {
+                return;
+            }
+            received.write(b);
+        }
+    }
+
+    private static void deleteUserFolder(String userName) throws IOException {
+        Path folder = Paths.get(PlaNusServer.USERS_FOLDER_PATH + userName);
+        if (!Files.exists(folder)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(folder)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
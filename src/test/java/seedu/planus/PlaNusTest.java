@@ -1,7 +1,11 @@
 package seedu.planus;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
 import org.junit.jupiter.api.Test;
 
 class PlaNusTest {
@@ -9,4 +13,20 @@ class PlaNusTest {
     public void sampleTest() {
         assertTrue(true);
     }
+
+    @Test
+    public void main_serverPortOutOfRange_errorPrinted() {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        try {
+            PlaNus.main(new String[] {"--server", "70000"});
+            PlaNus.main(new String[] {"--server", "-1"});
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String message = "Please provide a valid port number after --server";
+        assertEquals(2, output.toString().split(message, -1).length - 1);
+    }
 }
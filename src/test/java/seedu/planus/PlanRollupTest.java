@@ -0,0 +1,86 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PlanRollupTest {
+    private Timetable timetable;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 2, 1));
+        timetable.addCourse(new Course("CS2113", "Software Engineering", 4, 2, 2));
+        timetable.addCourse(new Course("CS3230", "Design and Analysis of Algorithms", 4, 3, 1));
+        timetable.addCourse(new Course("CP3880", "Advanced Technology Attachment", 12, 3, 3));
+        timetable.addGrade("CS1010", "A");
+        timetable.addGrade("CS2040C", "B+");
+        timetable.addGrade("CS2113", "C");
+        timetable.addGrade("CS3230", "A-");
+        timetable.addGrade("CP3880", "S");
+    }
+
+    @Test
+    public void ofYears_rangeOfYears_termsAndTotalsOfRangeOnly() {
+        PlanRollup rollup = PlanRollup.ofYears(timetable, 2, 3);
+
+        List<PlanRollup.TermRollup> terms = rollup.getTerms();
+        assertEquals(4, terms.size());
+        assertEquals("CS2040C", terms.get(0).getCourses().get(0).getCourseCode());
+        assertEquals(3, terms.get(3).getYear());
+        assertEquals(3, terms.get(3).getTerm());
+        assertEquals(12, terms.get(3).getCredits());
+        assertEquals(8, rollup.getYearCredits(2));
+        assertEquals(300, rollup.getYearGpaHundredths(2));
+        assertEquals(450, rollup.getYearGpaHundredths(3));
+        assertEquals(24, rollup.getTotalCredits());
+        assertEquals(350, rollup.getTotalGpaHundredths());
+        assertEquals(3, rollup.getMaxYear());
+    }
+
+    @Test
+    public void ofTerm_emptyTerm_noTerms() {
+        PlanRollup rollup = PlanRollup.ofTerm(timetable, 1, 2);
+
+        assertTrue(rollup.getTerms().isEmpty());
+        assertEquals(0, rollup.getTotalCredits());
+        assertEquals(0, rollup.getTotalGpaHundredths());
+        assertEquals(0, rollup.getMaxYear());
+    }
+
+    @Test
+    public void computeGpaHundredths_halfwayGpa_roundedUpAsStringFormat() {
+        // 25 grade points over 8 courses of 4 MCs each is a GPA of exactly 3.125
+        assertEquals(313, PlanRollup.computeGpaHundredths(25 * 2 * 4, 32));
+        assertEquals(String.format("%.2f", 3.125), ReportWriter.render(report -> report.appendGpa(313)));
+        assertEquals(0, PlanRollup.computeGpaHundredths(0, 0));
+    }
+
+    @Test
+    public void writeGradesOfYears_rangeOfYears_yearsAndTotalGpa() {
+        String report = ReportWriter.render(writer -> GradeChecker.writeGradesOfYears(writer, timetable, 2, 3));
+
+        assertTrue(report.startsWith("Year 2:" + System.lineSeparator()));
+        assertTrue(report.contains("Year 2 GPA: 3.00"));
+        assertTrue(report.contains("Year 3 GPA: 4.50"));
+        assertTrue(report.endsWith("Total GPA: 3.50" + System.lineSeparator() + System.lineSeparator()));
+        assertEquals(GradeChecker.checkGrade(timetable, 2),
+                ReportWriter.render(writer -> GradeChecker.writeGradesOfYears(writer, timetable, 2, 2)));
+    }
+
+    @Test
+    public void writePlanOfYears_rangeOfYears_totalMcsOfRange() {
+        String report = ReportWriter.render(writer -> PlanGetter.writePlanOfYears(writer, timetable, 2, 3));
+
+        assertTrue(report.startsWith("Year 2 Semester 1:" + System.lineSeparator()));
+        assertTrue(report.endsWith("Total MCs: 24" + System.lineSeparator()));
+        assertEquals(PlanGetter.getPlan(timetable, 2),
+                ReportWriter.render(writer -> PlanGetter.writePlanOfYears(writer, timetable, 2, 2)));
+    }
+}
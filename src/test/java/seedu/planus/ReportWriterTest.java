@@ -0,0 +1,34 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class ReportWriterTest {
+    @Test
+    public void appendGpa_fixedPoint_sameAsStringFormat() {
+        int[] gpaHundredths = {0, 5, 10, 99, 100, 313, 450, 500};
+        for (int hundredths : gpaHundredths) {
+            assertEquals(String.format("%.2f", hundredths / 100.0),
+                    ReportWriter.render(report -> report.appendGpa(hundredths)));
+        }
+    }
+
+    @Test
+    public void writePlan_planLargerThanBuffer_sameAsString() throws Exception {
+        Timetable timetable = new Timetable();
+        for (int i = 0; i < 2000; i++) {
+            timetable.addCourse(new Course("SYN" + i, "Synthetic Course", i % 6 + 1, i % 4 + 1));
+        }
+        StringBuilder out = new StringBuilder();
+
+        ReportWriter report = new ReportWriter(out);
+        PlanGetter.writePlan(report, timetable);
+        report.flush();
+
+        assertTrue(out.length() > 8192);
+        assertEquals(PlanGetter.getPlan(timetable), out.toString());
+        assertTrue(out.toString().endsWith("Total MCs: 8000" + System.lineSeparator()));
+    }
+}
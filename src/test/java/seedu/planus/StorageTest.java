@@ -1,17 +1,37 @@
 package seedu.planus;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileWriter;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
 import java.util.Scanner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 //@@author ZhouJunmin
 public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    public void tearDown() {
+        Storage.setContext(null);
+    }
+
     @Test
     public void getUserTimetableFilePath_defaultTimetable() {
         assertEquals("./data/myTimetable0.csv", Storage.getUserTimetableFilePath());
@@ -38,6 +58,7 @@ public class StorageTest {
 
     @Test
     public void writeToFile_emptyFile() {
+        useTempFolder();
         Timetable timetable = new Timetable();
         Storage.writeToFile(timetable);
         File f = new File(Storage.getUserTimetableFilePath());
@@ -53,6 +74,7 @@ public class StorageTest {
 
     @Test
     public void writeToFile_oneCourseFile() {
+        useTempFolder();
         Timetable timetable = new Timetable();
         try {
             Course course = new Course("CS1010", "Programming Methodology", 4, 1, 1);
@@ -73,6 +95,7 @@ public class StorageTest {
 
     @Test
     public void writeToFile_multipleCoursesFile() {
+        useTempFolder();
         Timetable timetable = new Timetable();
         try {
             Course courseOne = new Course("CS1010", "Programming Methodology", 4, 1, 1);
@@ -96,12 +119,14 @@ public class StorageTest {
 
     @Test
     public void loadTimetable_emptyFile() {
+        useTempFolder();
         Timetable timetable = Storage.loadTimetable("myTimetable-1.csv");
         assertEquals(timetable.toString(), "");
     }
 
     @Test
     public void loadTimetable_normalFile() {
+        useTempFolder();
         Timetable timetableExpected = new Timetable();
         try {
             Course course = new Course("CS1010", "Programming Methodology", 4, 1, 1);
@@ -113,7 +138,146 @@ public class StorageTest {
         Storage.writeToFile(timetableExpected);
         Timetable timetableActual = Storage.loadTimetable("myTimetable-2.csv");
         assertEquals(timetableActual.toString(), timetableExpected.toString());
-        Storage.changeTimetable(0);
+    }
+
+    @Test
+    public void loadTimetable_windowsLineEndings_allCoursesLoaded() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-4);
+        FileWriter fw = new FileWriter(Storage.getUserTimetableFilePath());
+        fw.write("CS1010,Programming Methodology,4,1,1,A\r\nnot a course\r\nMA1511,Engineering Calculus,2,1,1,B\r\n");
+        fw.close();
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        System.setOut(originalOut);
+
+        assertEquals("CS1010,Programming Methodology,4,1,1,A" + System.lineSeparator()
+                + "MA1511,Engineering Calculus,2,1,1,B" + System.lineSeparator(), timetable.toString());
+        assertEquals("Data corrupted at line 2 of file at " + Storage.getUserTimetableFilePath()
+                + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void writeToFile_loadedTimetable_changesAppendedToJournal() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-5);
+        Timetable initial = new Timetable();
+        initial.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        initial.addCourse(new Course("CS1231", "Discrete Structures", 4, 1, 1));
+        Storage.writeSnapshot(initial);
+        String snapshot = Files.readString(Paths.get(Storage.getUserTimetableFilePath()));
+
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        timetable.addCourse(new Course("MA1511", "Engineering Calculus", 2, 1, 2));
+        timetable.addGrade("CS1010", "A-");
+        timetable.removeCourse("CS1231");
+        timetable.moveCourse("MA1511", 2, 1);
+        Storage.writeToFile(timetable);
+
+        assertEquals(snapshot, Files.readString(Paths.get(Storage.getUserTimetableFilePath())));
+        assertEquals(4, Files.readAllLines(Paths.get(Storage.getUserTimetableJournalPath())).size());
+        Timetable reloaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        assertEquals(timetable.toString(), reloaded.toString());
+        assertEquals(4.5, reloaded.getCumulativeGpa(), 0.001);
+
+        Storage.writeSnapshot(reloaded);
+        assertFalse(Files.exists(Paths.get(Storage.getUserTimetableJournalPath())));
+        assertEquals(timetable.toString(), Files.readString(Paths.get(Storage.getUserTimetableFilePath())));
+    }
+
+    @Test
+    public void loadTimetable_corruptedJournalEntry_otherEntriesReplayed() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-6);
+        FileWriter fw = new FileWriter(Storage.getUserTimetableFilePath());
+        fw.write("CS1010,Programming Methodology,4,1,1,null" + System.lineSeparator());
+        fw.close();
+        fw = new FileWriter(Storage.getUserTimetableJournalPath());
+        fw.write("grade,CS1010,B+" + System.lineSeparator() + "add,MA1511,Engineering Calc");
+        fw.close();
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        System.setOut(originalOut);
+
+        assertEquals("CS1010,Programming Methodology,4,1,1,B+" + System.lineSeparator(), timetable.toString());
+        assertEquals("Data corrupted at line 2 of file at " + Storage.getUserTimetableJournalPath()
+                + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void writeToFile_halfWrittenJournalLine_changeAfterItReplayed() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-9);
+        FileWriter fw = new FileWriter(Storage.getUserTimetableFilePath());
+        fw.write("CS1010,Programming Methodology,4,1,1,null" + System.lineSeparator());
+        fw.close();
+        fw = new FileWriter(Storage.getUserTimetableJournalPath());
+        fw.write("grade,CS1010,B+" + System.lineSeparator() + "add,MA1511,Engineering Calc");
+        fw.close();
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output));
+        Timetable timetable = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        timetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 1, 2));
+        Storage.writeToFile(timetable);
+        fw = new FileWriter(Storage.getUserTimetableJournalPath(), true);
+        fw.write("grade,CS20");
+        fw.close();
+        timetable.addGrade("CS2040C", "A");
+        Storage.writeToFile(timetable);
+        output.reset();
+        Timetable reloaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        System.setOut(originalOut);
+
+        assertEquals("CS1010,Programming Methodology,4,1,1,B+" + System.lineSeparator()
+                + "CS2040C,Data Structures and Algorithms,4,1,2,A" + System.lineSeparator(), reloaded.toString());
+        assertEquals("Data corrupted at line 3 of file at " + Storage.getUserTimetableJournalPath()
+                + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void loadTimetable_staleJournalNextToCompactedFile_notReplayed() throws Exception {
+        useTempFolder();
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addGrade("CS1010", "A");
+        Storage.writeSnapshot(timetable);
+        // a crash after the compacted file replaced the old one left the journal it holds set aside
+        Path asideJournalPath = Paths.get(Storage.getUserTimetableJournalPath() + ".old");
+        Files.writeString(asideJournalPath, "rm,CS1010" + System.lineSeparator() + "grade,CS1010,B"
+                + System.lineSeparator());
+
+        Timetable loaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+
+        assertEquals(timetable.toString(), loaded.toString());
+        assertFalse(Files.exists(asideJournalPath));
+        assertFalse(Files.exists(Paths.get(Storage.getUserTimetableJournalPath())));
+    }
+
+    @Test
+    public void loadTimetable_compactionCutShortBeforeFileReplaced_journalReplayed() throws Exception {
+        useTempFolder();
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        Storage.writeSnapshot(timetable);
+        // a crash before the compacted file replaced the old one left it in its temporary file
+        Path asideJournalPath = Paths.get(Storage.getUserTimetableJournalPath() + ".old");
+        Files.writeString(asideJournalPath, "grade,CS1010,A" + System.lineSeparator());
+        Files.writeString(Paths.get(Storage.getUserTimetableFilePath() + ".tmp"),
+                "CS1010,Programming Methodology,4,1,1,A" + System.lineSeparator());
+
+        Timetable loaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+
+        assertEquals("A", loaded.searchGrade("CS1010"));
+        assertFalse(Files.exists(asideJournalPath));
+        assertEquals(1, Files.readAllLines(Paths.get(Storage.getUserTimetableJournalPath())).size());
     }
 
     @Test
@@ -126,4 +290,108 @@ public class StorageTest {
         assertEquals("./data/myTimetable0.csv", Storage.getUserTimetableFilePath());
     }
 
+    @Test
+    public void getMajorTemplate_sameMajor_loadedOnce() {
+        MajorTemplate template = Storage.getMajorTemplate("CEG");
+        assertSame(template, Storage.getMajorTemplate("CEG"));
+        assertEquals(PlanGetter.getPlan(Storage.loadTimetable("CEG")), template.getPlan());
+        assertNull(Storage.getMajorTemplate("myTimetable0"));
+    }
+
+    @Test
+    public void getMajorTemplate_copyChanged_templateUnchanged() throws Exception {
+        MajorTemplate template = Storage.getMajorTemplate("CEG");
+        String plan = template.getPlan();
+        Timetable timetable = new Timetable();
+        template.copyTo(timetable);
+        assertEquals(plan, PlanGetter.getPlan(timetable));
+
+        Timetable otherTimetable = new Timetable();
+        template.copyTo(otherTimetable);
+        timetable.addGrade("CG1111A", "A");
+        timetable.moveCourse("CG1111A", 6, 4);
+
+        assertEquals(plan, template.getPlan());
+        assertEquals(plan, PlanGetter.getPlan(otherTimetable));
+        assertNull(otherTimetable.searchGrade("CG1111A"));
+    }
+
+    @Test
+    public void loadTimetable_snapshotOfUnchangedFile_snapshotRead() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-8);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addCourse(new Course("CS1010E", "Programming Methodology", 4, 1, 2));
+        timetable.addCourse(new Course("CG4002", "Computer Engineering Capstone Project", 8, 4, 4));
+        timetable.addGrade("CS1010", "A-");
+        timetable.addGrade("CG4002", "CS");
+        Storage.writeSnapshot(timetable);
+
+        Timetable snapshotTimetable = TimetableSnapshot.read(Paths.get(Storage.getUserTimetableFilePath()),
+                Paths.get(Storage.getUserTimetableSnapshotPath()));
+        assertEquals(timetable.toString(), snapshotTimetable.toString());
+        Timetable loaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        assertEquals(timetable.toString(), loaded.toString());
+        assertEquals(4.5, loaded.getCumulativeGpa(), 0.001);
+
+    }
+
+    @Test
+    public void loadTimetable_fileChangedAfterSnapshot_fileRead() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-8);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        Storage.writeSnapshot(timetable);
+        FileWriter fw = new FileWriter(Storage.getUserTimetableFilePath(), true);
+        fw.write("MA1511,Engineering Calculus,2,1,1,B" + System.lineSeparator());
+        fw.close();
+
+        Timetable loaded = Storage.loadTimetable(Storage.getUserTimetableFileName());
+        assertTrue(loaded.hasCourse("MA1511"));
+        assertEquals(loaded.toString(), TimetableSnapshot.read(Paths.get(Storage.getUserTimetableFilePath()),
+                Paths.get(Storage.getUserTimetableSnapshotPath())).toString());
+
+    }
+
+    @Test
+    public void loadTimetable_sameSizeEditWithinTimeGranularity_fileRead() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-8);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addGrade("CS1010", "A");
+        Storage.writeSnapshot(timetable);
+        Path filePath = Paths.get(Storage.getUserTimetableFilePath());
+        FileTime lastModified = Files.getLastModifiedTime(filePath);
+        Files.writeString(filePath, Files.readString(filePath).replace(",A", ",B"));
+        Files.setLastModifiedTime(filePath, lastModified);
+
+        assertNull(TimetableSnapshot.read(filePath, Paths.get(Storage.getUserTimetableSnapshotPath())));
+        assertEquals("B", Storage.loadTimetable(Storage.getUserTimetableFileName()).searchGrade("CS1010"));
+    }
+
+    @Test
+    public void loadTimetable_truncatedSnapshot_fileRead() throws Exception {
+        useTempFolder();
+        Storage.changeTimetable(-8);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addCourse(new Course("MA1511", "Engineering Calculus", 2, 1, 1));
+        Storage.writeSnapshot(timetable);
+        byte[] snapshot = Files.readAllBytes(Paths.get(Storage.getUserTimetableSnapshotPath()));
+        Files.write(Paths.get(Storage.getUserTimetableSnapshotPath()),
+                Arrays.copyOf(snapshot, snapshot.length - 4));
+
+        assertEquals(timetable.toString(), Storage.loadTimetable(Storage.getUserTimetableFileName()).toString());
+
+    }
+
+    /**
+     * Keeps the timetable files written by a test in its own temporary folder, so that no test reads them later
+     */
+    private void useTempFolder() {
+        Storage.setContext(new StorageContext(tempDir.toString() + "/"));
+    }
 }
@@ -0,0 +1,172 @@
+package seedu.planus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TimetableSessionTest {
+    private static final int SESSION_TEST_INDEX = -3;
+    private static final int OTHER_TEST_INDEX = SESSION_TEST_INDEX - 1;
+
+    @TempDir
+    Path tempDir;
+
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        Storage.setContext(new StorageContext(tempDir.toString() + "/"));
+        // the timetable switched to by the tests starts empty
+        Storage.changeTimetable(OTHER_TEST_INDEX);
+        Storage.writeToFile(new Timetable());
+        Storage.changeTimetable(SESSION_TEST_INDEX);
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        Storage.writeToFile(timetable);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        System.setOut(originalOut);
+        Storage.setContext(null);
+    }
+
+    @Test
+    public void getTimetable_repeatedCalls_loadedOnce() {
+        TimetableSession session = new TimetableSession();
+        Timetable timetable = session.getTimetable();
+        assertSame(timetable, session.getTimetable());
+        assertEquals(1, session.getReloadCount());
+    }
+
+    @Test
+    public void getTimetable_manyCommands_noRedundantReload() throws Exception {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        String[] commands = {"view", "help", "add grade CS1010 A", "check", "rm grade CS1010"};
+        TimetableSession session = new TimetableSession();
+
+        for (int i = 0; i < 10000; i++) {
+            Parser.parseCommand(commands[i % commands.length], session.getTimetable());
+            session.markSynced();
+        }
+
+        assertEquals(1, session.getReloadCount());
+    }
+
+    @Test
+    public void getTimetable_timetableChanged_reloaded() throws Exception {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        TimetableSession session = new TimetableSession();
+        session.getTimetable();
+
+        Parser.parseCommand("change timetable " + OTHER_TEST_INDEX, session.getTimetable());
+        session.markSynced();
+        assertEquals("", session.getTimetable().toString());
+        assertEquals(2, session.getReloadCount());
+    }
+
+    @Test
+    public void getTimetable_fileChangedOutsideSession_reloaded() throws Exception {
+        TimetableSession session = new TimetableSession();
+        session.getTimetable();
+
+        Timetable otherTimetable = new Timetable();
+        otherTimetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 1, 2));
+        Storage.writeToFile(otherTimetable);
+
+        assertEquals(otherTimetable.toString(), session.getTimetable().toString());
+        assertEquals(2, session.getReloadCount());
+    }
+
+    @Test
+    public void invalidate_reloadedOnNextAccess() {
+        TimetableSession session = new TimetableSession();
+        session.getTimetable();
+        session.invalidate();
+        session.getTimetable();
+        assertEquals(2, session.getReloadCount());
+    }
+
+    @Test
+    public void markFailed_invalidCommand_notReloaded() throws Exception {
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        TimetableSession session = new TimetableSession();
+        Timetable timetable = session.getTimetable();
+
+        for (String command : new String[] {"add CS2040C y/9 t/1", "hello", "add"}) {
+            try {
+                Parser.parseCommand(command, session.getTimetable());
+                session.markSynced();
+            } catch (Exception e) {
+                session.markFailed();
+            }
+        }
+        Parser.parseCommand("view", session.getTimetable());
+
+        assertSame(timetable, session.getTimetable());
+        assertEquals(1, session.getReloadCount());
+    }
+
+    @Test
+    public void markFailed_unsavedChangeLeft_reloadedOnNextAccess() throws Exception {
+        TimetableSession session = new TimetableSession();
+        session.getTimetable().addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 1, 2));
+        session.markFailed();
+
+        assertEquals("CS1010,Programming Methodology,4,1,1,null", session.getTimetable().toString().trim());
+        assertEquals(2, session.getReloadCount());
+    }
+
+    @Test
+    public void getTimetable_switchBackAndForth_loadedOnce() {
+        TimetableSession session = new TimetableSession();
+        Timetable timetable = session.getTimetable();
+        Storage.changeTimetable(OTHER_TEST_INDEX);
+        Timetable otherTimetable = session.getTimetable();
+
+        for (int i = 0; i < 100; i++) {
+            Storage.changeTimetable(SESSION_TEST_INDEX);
+            assertSame(timetable, session.getTimetable());
+            Storage.changeTimetable(OTHER_TEST_INDEX);
+            assertSame(otherTimetable, session.getTimetable());
+        }
+        assertEquals(2, session.getReloadCount());
+        assertEquals(2, session.getResidentCount());
+    }
+
+    @Test
+    public void getTimetable_overCapacity_leastRecentlyUsedReloaded() {
+        TimetableSession session = new TimetableSession(1);
+        Timetable timetable = session.getTimetable();
+        Storage.changeTimetable(OTHER_TEST_INDEX);
+        session.getTimetable();
+        Storage.changeTimetable(SESSION_TEST_INDEX);
+
+        assertEquals(timetable.toString(), session.getTimetable().toString());
+        assertEquals(3, session.getReloadCount());
+        assertEquals(1, session.getResidentCount());
+    }
+
+    @Test
+    public void getTimetable_unsavedTimetableEvicted_writtenBack() throws Exception {
+        TimetableSession session = new TimetableSession(1);
+        Timetable timetable = session.getTimetable();
+        // as after a failed write, the timetable has changes that are not on disk
+        timetable.markUnsaved();
+        timetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 1, 2));
+        Storage.changeTimetable(OTHER_TEST_INDEX);
+        session.getTimetable();
+
+        assertEquals(OTHER_TEST_INDEX, Storage.getUserTimetableIndex());
+        Storage.changeTimetable(SESSION_TEST_INDEX);
+        assertEquals(timetable.toString(), Storage.loadTimetable(Storage.getUserTimetableFileName()).toString());
+    }
+}
@@ -2,9 +2,19 @@ package seedu.planus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.jupiter.api.Test;
 
 public class TimetableTest {
@@ -43,6 +53,34 @@ public class TimetableTest {
         }
     }
 
+    @Test
+    public void addAll_someCoursesAlreadyAdded_othersAdded() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "", 1, 1));
+        Course duplicate = new Course("cs1010", "", 2, 1);
+        Course repeated = new Course("MA1511", "Engineering Calculus", 2, 2, 1);
+        List<Course> skipped = timetable.addAll(List.of(duplicate,
+                new Course("MA1511", "Engineering Calculus", 2, 1, 1), new Course("CG2111A", "", 1, 2), repeated));
+
+        assertEquals(List.of(duplicate, repeated), skipped);
+        assertEquals("CS1010,,4,1,1,null" + System.lineSeparator() + "MA1511,Engineering Calculus,2,1,1,null"
+                + System.lineSeparator() + "CG2111A,,4,1,2,null" + System.lineSeparator(), timetable.toString());
+    }
+
+    @Test
+    public void addAll_gradedCourses_gpaUpdated() throws Exception {
+        Timetable timetable = new Timetable();
+        Course graded = new Course("CS1010", "", 4, 1, 1);
+        graded.setGrade("A");
+        Course otherGraded = new Course("MA1511", "", 2, 1, 2);
+        otherGraded.setGrade("B");
+        timetable.addAll(List.of(graded, otherGraded, new Course("CG2111A", "", 1, 2)));
+
+        assertEquals(5.0, timetable.getTermGpa(1, 1));
+        assertEquals(3.5, timetable.getTermGpa(1, 2));
+        assertEquals((5.0 * 4 + 3.5 * 2) / 6, timetable.getCumulativeGpa(), 1e-9);
+    }
+
     @Test
     public void removeCourse_courseNotInPlan_returnFalse() {
         Timetable timetable = new Timetable();
@@ -70,4 +108,168 @@ public class TimetableTest {
                 + "Term GPA: 3.50" + System.lineSeparator() + "-----------------------------" + System.lineSeparator()
                 , GradeChecker.checkGrade(timetable, 1, 1));
     }
+
+    @Test
+    public void addCourse_duplicateCourseCode_returnTrue() throws Exception {
+        Timetable timetable = new Timetable();
+        assertFalse(timetable.addCourse(new Course("CS1010", "Programming Methodology", 1, 1)));
+        assertTrue(timetable.addCourse(new Course("cs1010", "Programming Methodology", 2, 1)));
+        assertTrue(timetable.removeCourse("CS1010"));
+        assertFalse(timetable.addCourse(new Course("CS1010", "Programming Methodology", 2, 1)));
+        assertEquals("CS1010,Programming Methodology,4,2,1,null" + System.lineSeparator(), timetable.toString());
+    }
+
+    @Test
+    public void addCourse_largePlan_allCoursesIndexed() throws Exception {
+        Timetable timetable = new Timetable();
+        for (int i = 0; i < 5000; i++) {
+            assertFalse(timetable.addCourse(new Course("SYN" + i, "Synthetic Course", i % 6 + 1, i % 4 + 1)));
+        }
+        for (int i = 0; i < 5000; i += 7) {
+            assertTrue(timetable.addGrade("syn" + i, "A"));
+            assertEquals("A", timetable.searchGrade("SYN" + i));
+        }
+        for (int i = 0; i < 5000; i++) {
+            assertTrue(timetable.removeCourse("SYN" + i));
+        }
+        assertEquals("", timetable.toString());
+    }
+
+    @Test
+    public void searchTimetableIndex_termSlots_orderedByYearAndTerm() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS3230", "Design and Analysis of Algorithms", 3, 1));
+        timetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 2, 4));
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 1, 1));
+
+        assertEquals(0, timetable.searchTimetableIndex(1, 1));
+        assertEquals(7, timetable.searchTimetableIndex(2, 4));
+        assertEquals(8, timetable.searchTimetableIndex(3, 1));
+        assertEquals(-1, timetable.searchTimetableIndex(1, 2));
+        assertEquals("CS1010,Programming Methodology,4,1,1,null" + System.lineSeparator()
+                + "CS2040C,Data Structures and Algorithms,4,2,4,null" + System.lineSeparator()
+                + "CS3230,Design and Analysis of Algorithms,4,3,1,null" + System.lineSeparator(),
+                timetable.toString());
+
+        timetable.removeCourse("CS2040C");
+        assertEquals(-1, timetable.searchTimetableIndex(2, 4));
+    }
+
+    @Test
+    public void getGpa_gradesAddedChangedAndRemoved_aggregatesUpdated() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        timetable.addCourse(new Course("MA1511", "Engineering Calculus", 2, 1, 1));
+        timetable.addCourse(new Course("CS2040C", "Data Structures and Algorithms", 4, 2, 1));
+        assertEquals(0.00, timetable.getCumulativeGpa());
+
+        timetable.addGrade("CS1010", "A");
+        timetable.addGrade("MA1511", "B");
+        timetable.addGrade("CS2040C", "S");
+        assertEquals(13.5 / 3, timetable.getTermGpa(1, 1));
+        assertEquals(13.5 / 3, timetable.getYearGpa(1));
+        assertEquals(0.00, timetable.getYearGpa(2));
+        assertEquals(13.5 / 3, timetable.getCumulativeGpa());
+
+        timetable.addGrade("CS2040C", "C");
+        timetable.addGrade("CS1010", "B+");
+        assertEquals(2.00, timetable.getYearGpa(2));
+        assertEquals(31.0 / 10, timetable.getCumulativeGpa());
+
+        timetable.removeGrade("MA1511");
+        timetable.removeCourse("CS2040C");
+        assertEquals(4.00, timetable.getTermGpa(1, 1));
+        assertEquals(4.00, timetable.getCumulativeGpa());
+    }
+
+    @Test
+    public void moveCourse_gradedCourse_gradeAndCreditsKept() throws Exception {
+        Timetable timetable = new Timetable();
+        Course course = new Course("CS1010", "Programming Methodology", 6, 1, 1);
+        timetable.addCourse(course);
+        timetable.addCourse(new Course("MA1511", "Engineering Calculus", 2, 1, 1));
+        timetable.addGrade("CS1010", "A-");
+
+        assertTrue(timetable.moveCourse("cs1010", 2, 3));
+        assertEquals("MA1511,Engineering Calculus,2,1,1,null" + System.lineSeparator()
+                + "CS1010,Programming Methodology,6,2,3,A-" + System.lineSeparator(), timetable.toString());
+        assertSame(course, timetable.getTermCourses(2, 3).get(0));
+        assertFalse(timetable.getTermCourses(1, 1).contains(course));
+        assertEquals(0.00, timetable.getYearGpa(1));
+        assertEquals(4.50, timetable.getTermGpa(2, 3));
+        assertEquals(4.50, timetable.getCumulativeGpa());
+    }
+
+    @Test
+    public void moveCourse_invalidTargetOrMissingCourse_planUnchanged() throws Exception {
+        Timetable timetable = new Timetable();
+        timetable.addCourse(new Course("CS1010", "Programming Methodology", 4, 1, 1));
+        String plan = timetable.toString();
+
+        assertFalse(timetable.moveCourse("MA1511", 1, 2));
+        assertThrows(Exception.class, () -> timetable.moveCourse("CS1010", 7, 1));
+        assertThrows(Exception.class, () -> timetable.moveCourse("CS1010", 1, 0));
+        assertEquals(plan, timetable.toString());
+    }
+
+    @Test
+    public void reportsDuringChanges_manyThreads_noExceptionAndConsistentPlan() throws Exception {
+        final int writerCount = 4;
+        final int readerCount = 4;
+        final int coursesPerWriter = 50;
+        Timetable timetable = new Timetable();
+        AtomicBoolean isWriting = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(writerCount + readerCount);
+
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < writerCount; w++) {
+            String prefix = "W" + w + "C";
+            writers.add(executor.submit(() -> {
+                for (int round = 0; round < 20; round++) {
+                    for (int i = 0; i < coursesPerWriter; i++) {
+                        timetable.addCourse(new Course(prefix + i, "Stress Course", i % 6 + 1, i % 4 + 1));
+                        timetable.addGrade(prefix + i, i % 2 == 0 ? "A" : "C");
+                        timetable.moveCourse(prefix + i, round % 6 + 1, round % 4 + 1);
+                    }
+                    for (int i = 0; i < coursesPerWriter; i++) {
+                        timetable.removeCourse(prefix + i);
+                    }
+                }
+                for (int i = 0; i < 10; i++) {
+                    timetable.addCourse(new Course(prefix + i, "Stress Course", 1, 1));
+                    timetable.addGrade(prefix + i, "A");
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < readerCount; r++) {
+            readers.add(executor.submit(() -> {
+                while (isWriting.get()) {
+                    PlanGetter.getPlan(timetable);
+                    PlanGetter.getPlan(timetable, 1);
+                    GradeChecker.checkGrade(timetable);
+                    timetable.toString();
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            isWriting.set(false);
+            executor.shutdown();
+        }
+        for (Future<?> reader : readers) {
+            reader.get(60, TimeUnit.SECONDS);
+        }
+
+        assertEquals(writerCount * 10, timetable.toString().split(System.lineSeparator()).length);
+        assertEquals(5.00, timetable.getCumulativeGpa());
+        assertEquals(5.00, timetable.getTermGpa(1, 1));
+        assertEquals(0.00, timetable.getYearGpa(2));
+    }
 }